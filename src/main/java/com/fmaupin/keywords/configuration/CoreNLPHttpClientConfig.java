@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.configuration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPHttpClientConfig
+ *
+ * Configuration du client HTTP dédié au serveur CoreNLP : pool de connexions
+ * dimensionné, keep-alive et timeouts explicites.
+ *
+ * Métriques exposées :
+ * - httpcomponents.httpclient.pool.* {httpclient=corenlp} : connexions
+ * louées, disponibles et demandes en attente
+ * - keywords.corenlp.connection.acquire : temps d'obtention d'une connexion
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Configuration
+@Slf4j
+public class CoreNLPHttpClientConfig {
+
+    private static final String POOL_NAME = "corenlp";
+
+    @Value("${coreNLP.http.max-total:32}")
+    private int maxTotal;
+
+    @Value("${coreNLP.http.max-per-route:16}")
+    private int maxPerRoute;
+
+    @Value("${coreNLP.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${coreNLP.http.read-timeout:60s}")
+    private Duration readTimeout;
+
+    @Value("${coreNLP.http.connection-request-timeout:10s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${coreNLP.http.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${coreNLP.http.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${coreNLP.http.validate-after-inactivity:2s}")
+    private Duration validateAfterInactivity;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager coreNLPConnectionManager(MeterRegistry meterRegistry) {
+        Timer acquireTimer = Timer.builder("keywords.corenlp.connection.acquire")
+                .description("Time spent waiting for a pooled CoreNLP connection")
+                .register(meterRegistry);
+
+        PoolingHttpClientConnectionManager connectionManager = new MeteredConnectionManager(acquireTimer);
+
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+
+        log.info("CoreNLPHttpClientConfig - pool of {} connections ({} per route), connect {} / read {}",
+                maxTotal, maxPerRoute, connectTimeout, readTimeout);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient coreNLPHttpClient(PoolingHttpClientConnectionManager coreNLPConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(coreNLPConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        // durée de vie d'une connexion si le serveur n'indique pas de keep-alive
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate coreNLPRestTemplate(CloseableHttpClient coreNLPHttpClient) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(coreNLPHttpClient));
+
+        // convertisseur String avec encodage UTF-8 en première position
+        restTemplate.getMessageConverters().removeIf(StringHttpMessageConverter.class::isInstance);
+        restTemplate.getMessageConverters()
+                .add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+
+        return restTemplate;
+    }
+
+    /**
+     * Pool de connexions mesurant le temps d'obtention d'une connexion (attente
+     * d'une connexion libre lorsque le pool est saturé).
+     */
+    static final class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer acquireTimer;
+
+        MeteredConnectionManager(Timer acquireTimer) {
+            this.acquireTimer = acquireTimer;
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest request = super.lease(id, route, requestTimeout, state);
+            long start = System.nanoTime();
+
+            return new LeaseRequest() {
+
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    try {
+                        return request.get(timeout);
+                    } finally {
+                        acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.configuration;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * CoreNLPWebClientConfig
+ *
+ * Configuration du client non bloquant du serveur CoreNLP (mode
+ * `coreNLP.client.mode: reactive`).
+ *
+ * Le pool de connexions reprend les paramètres `coreNLP.http.*` du client
+ * bloquant ; ses métriques sont publiées sous reactor.netty.connection.provider.*
+ * {name=corenlp}.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Configuration
+@Slf4j
+public class CoreNLPWebClientConfig {
+
+    private static final String POOL_NAME = "corenlp";
+
+    @Value("${coreNLP.http.max-total:32}")
+    private int maxConnections;
+
+    @Value("${coreNLP.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${coreNLP.http.read-timeout:60s}")
+    private Duration readTimeout;
+
+    @Value("${coreNLP.http.connection-request-timeout:10s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${coreNLP.http.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${coreNLP.http.max-response-size:64MB}")
+    private DataSize maxResponseSize;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider coreNLPConnectionProvider() {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                // requêtes en attente d'une connexion : pas de limite, le nombre
+                // d'appels en cours est borné par coreNLP.max-concurrent-calls
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient coreNLPWebClient(WebClient.Builder builder, ConnectionProvider coreNLPConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(coreNLPConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        log.info("CoreNLPWebClientConfig - pool of {} connections, connect {} / read {}", maxConnections,
+                connectTimeout, readTimeout);
+
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // réponses JSON volumineuses (texte annoté token par token)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxResponseSize.toBytes()))
+                .build();
+    }
+}
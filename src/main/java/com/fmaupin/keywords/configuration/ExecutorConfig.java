@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.fmaupin.keywords.enumeration.ExecutorModeEnum;
+import com.fmaupin.keywords.enumeration.PipelineStageEnum;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ExecutorConfig
+ *
+ * Configuration des pools de threads des étapes du traitement des messages.
+ *
+ * Chaque étape (cf. PipelineStageEnum) dispose de son propre pool et de sa
+ * propre file d'attente bornée, dimensionnés par
+ * `keywords-poc.executor.stages.<étape>.*` (à défaut par les valeurs communes
+ * `keywords-poc.executor.*`).
+ *
+ * File pleine : seule l'étape de détection de la langue, alimentée par le
+ * listener RabbitMQ, bloque l'appelant jusqu'à libération d'une place
+ * (contre-pression). Les étapes suivantes sont soumises depuis des threads
+ * qui ne doivent pas être bloqués ni exécuter la tâche (boucle d'événements
+ * Reactor Netty, planificateur des lots CoreNLP) : la soumission est
+ * rejetée et le traitement du message échoue explicitement.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Configuration
+@Slf4j
+public class ExecutorConfig {
+
+    private static final String METRIC_PREFIX = "keywords";
+
+    private static final String STAGE_PREFIX = "keywords-poc.executor.stages.";
+
+    @Value("${keywords-poc.executor.mode:platform}")
+    private ExecutorModeEnum mode;
+
+    @Value("${keywords-poc.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${keywords-poc.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    private final Environment environment;
+
+    public ExecutorConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService detectExecutor(MeterRegistry meterRegistry) {
+        return stageExecutor(PipelineStageEnum.DETECT, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService annotateExecutor(MeterRegistry meterRegistry) {
+        return stageExecutor(PipelineStageEnum.ANNOTATE, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService postProcessExecutor(MeterRegistry meterRegistry) {
+        return stageExecutor(PipelineStageEnum.POST_PROCESS, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService persistExecutor(MeterRegistry meterRegistry) {
+        return stageExecutor(PipelineStageEnum.PERSIST, meterRegistry);
+    }
+
+    private ExecutorService stageExecutor(PipelineStageEnum stage, MeterRegistry meterRegistry) {
+        String name = stage.getStageName();
+        String prefix = STAGE_PREFIX + name + ".";
+
+        ExecutorModeEnum stageMode = environment.getProperty(prefix + "mode", ExecutorModeEnum.class, mode);
+        ExecutorService executor = null;
+
+        if (stageMode == ExecutorModeEnum.VIRTUAL) {
+            executor = newVirtualThreadPerTaskExecutor();
+
+            if (executor == null) {
+                log.warn("ExecutorConfig - virtual threads are not supported by this JDK, using platform pool for {}",
+                        name);
+            }
+        }
+
+        if (executor == null) {
+            // 0 => un thread par coeur (étapes CPU)
+            int threads = environment.getProperty(prefix + "pool-size", Integer.class, poolSize);
+            threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+            int capacity = environment.getProperty(prefix + "queue-capacity", Integer.class, queueCapacity);
+
+            executor = newBoundedPlatformPool(name, threads, capacity, stage == PipelineStageEnum.DETECT);
+
+            log.info("ExecutorConfig - {} : platform pool of {} threads, queue capacity {}", name, threads, capacity);
+        } else {
+            log.info("ExecutorConfig - {} : one virtual thread per task", name);
+        }
+
+        // keywords.executor.*{name=<étape>} : temps d'exécution, attente, file
+        // d'attente, tâches actives
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, name, METRIC_PREFIX);
+    }
+
+    private static ExecutorService newBoundedPlatformPool(String name, int threads, int capacity,
+            boolean blockWhenFull) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = r -> new Thread(r, name + "-" + counter.incrementAndGet());
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, capacity)), threadFactory,
+                new StageRejectedExecutionHandler(name, blockWhenFull));
+    }
+
+    /**
+     * Politique de rejet d'une étape : la tâche n'est jamais exécutée par
+     * l'appelant ni abandonnée silencieusement (le CompletableFuture du
+     * message ne serait jamais complété).
+     *
+     * - pool arrêté => RejectedExecutionException
+     * - file pleine => attente d'une place (blockWhenFull) ou
+     * RejectedExecutionException
+     */
+    static final class StageRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final String name;
+
+        private final boolean blockWhenFull;
+
+        StageRejectedExecutionHandler(String name, boolean blockWhenFull) {
+            this.name = name;
+            this.blockWhenFull = blockWhenFull;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+
+            if (!blockWhenFull) {
+                throw new RejectedExecutionException(name + " executor queue is full");
+            }
+
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new RejectedExecutionException(name + " executor interrupted while waiting for capacity", e);
+            }
+
+            // arrêt pendant l'attente : la tâche ne serait peut-être plus exécutée
+            if (executor.isShutdown() && executor.getQueue().remove(task)) {
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() (JDK 21+), appelé par
+     * réflexion : le projet est compilé en Java 17.
+     *
+     * @return executor ou null si les threads virtuels ne sont pas disponibles
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.configuration;
+
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RabbitMQAsyncConfig
+ *
+ * Configuration du listener de la queue des chunks en mode ASYNC.
+ *
+ * Le prefetch est déduit de `keywords-poc.rabbitmq.in.max-in-flight` : les
+ * consommateurs doivent pouvoir recevoir une fenêtre complète de chunks non
+ * acquittés, sinon le broker cesse de livrer avant que la fenêtre ne soit
+ * pleine.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Configuration
+@ConditionalOnProperty(name = "keywords-poc.rabbitmq.in.mode", havingValue = "async")
+@Slf4j
+public class RabbitMQAsyncConfig {
+
+    @Value("${keywords-poc.rabbitmq.in.max-in-flight:32}")
+    private int maxInFlight;
+
+    @Value("${spring.rabbitmq.listener.simple.concurrency:1}")
+    private int concurrency;
+
+    // remplace la fabrique par défaut, utilisée par MessageListener
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+
+        // reprend la configuration `spring.rabbitmq.listener.simple.*`
+        configurer.configure(factory, connectionFactory);
+
+        // prefetch par consommateur : les `concurrency` consommateurs se
+        // partagent la fenêtre
+        int consumers = Math.max(1, concurrency);
+        int prefetch = Math.max(1, (maxInFlight + consumers - 1) / consumers);
+
+        factory.setPrefetchCount(prefetch);
+
+        log.info("RabbitMQAsyncConfig initialized - max in flight {}, {} consumers, prefetch {}", maxInFlight,
+                consumers, prefetch);
+
+        return factory;
+    }
+}
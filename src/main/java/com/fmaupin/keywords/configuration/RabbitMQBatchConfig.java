@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.configuration;
+
+import java.time.Duration;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RabbitMQBatchConfig
+ *
+ * Configuration du listener par lots pour la queue des chunks (mode BATCH).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Configuration
+@ConditionalOnProperty(name = "keywords-poc.rabbitmq.in.mode", havingValue = "batch")
+@Slf4j
+public class RabbitMQBatchConfig {
+
+    @Value("${keywords-poc.rabbitmq.in.batch.size:50}")
+    private int batchSize;
+
+    @Value("${keywords-poc.rabbitmq.in.batch.max-wait:2s}")
+    private Duration maxWait;
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+
+        // reprend la configuration `spring.rabbitmq.listener.simple.*`
+        configurer.configure(factory, connectionFactory);
+
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(maxWait.toMillis());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+
+        // le broker doit pouvoir livrer un lot complet sans acquittement
+        factory.setPrefetchCount(batchSize);
+
+        log.info("RabbitMQBatchConfig initialized - batch size {}, max wait {} ms", batchSize, maxWait.toMillis());
+
+        return factory;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.enumeration;
+
+/**
+ * CoreNLPClientModeEnum
+ *
+ * Enumération pour les modes d'appel du serveur CoreNLP
+ *
+ * BLOCKING : RestTemplate, un thread de l'étape d'annotation par appel en cours
+ * REACTIVE : WebClient, les appels en cours ne bloquent aucun thread
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+public enum CoreNLPClientModeEnum {
+    BLOCKING,
+    REACTIVE;
+}
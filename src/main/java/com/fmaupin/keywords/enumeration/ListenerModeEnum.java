@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.enumeration;
+
+/**
+ * ListenerModeEnum
+ *
+ * Enumération pour les modes de consommation de la queue des chunks
+ *
+ * SYNC : le thread du listener attend la fin du traitement avant d'acquitter
+ * ASYNC : le listener rend la main aussitôt, l'acquittement est fait à la fin
+ * du traitement
+ * BATCH : les chunks sont reçus par lots et acquittés ensemble
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+public enum ListenerModeEnum {
+    SYNC,
+    ASYNC,
+    BATCH;
+}
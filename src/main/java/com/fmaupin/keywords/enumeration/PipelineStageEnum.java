@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.enumeration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * PipelineStageEnum
+ *
+ * Enumération pour les étapes du traitement d'un chunk, chacune exécutée par
+ * son propre pool de threads
+ *
+ * DETECT : détection de la langue
+ * ANNOTATE : appel au serveur CoreNLP (I/O)
+ * POST_PROCESS : analyse de la réponse et règles d'extraction (CPU)
+ * PERSIST : sauvegarde des mots clés et publication (I/O)
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Getter
+@AllArgsConstructor
+public enum PipelineStageEnum {
+    DETECT("detect"),
+    ANNOTATE("annotate"),
+    POST_PROCESS("post-process"),
+    PERSIST("persist");
+
+    // nom de l'étape dans la configuration et les métriques
+    private final String stageName;
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * AhoCorasickMatcher
+ *
+ * Recherche simultanée de plusieurs expressions dans un texte (automate
+ * d'Aho-Corasick) : le texte est parcouru une seule fois, quel que soit le
+ * nombre d'expressions.
+ *
+ * La recherche est insensible à la casse et aux accents ("Amerique latine"
+ * trouve "Amérique latine", l'apostrophe typographique équivaut à
+ * l'apostrophe droite) et ne retient que les mots entiers (équivalent de
+ * `\b`).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+public final class AhoCorasickMatcher {
+
+    // caractères dont les accents sont retirés (latin étendu)
+    private static final char[] FOLDED = new char[0x250];
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+
+            FOLDED[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+    }
+
+    // symbole de chaque caractère (après repli) présent dans une expression, 0
+    // pour les autres
+    private final int[] symbols;
+
+    private final int alphabetSize;
+
+    // transitions de l'automate : état x alphabetSize + symbole => état
+    private final int[] transitions;
+
+    // longueurs des expressions reconnues dans chaque état (suffixes compris)
+    private final int[][] outputs;
+
+    /**
+     * @param expressions : expressions recherchées
+     */
+    public AhoCorasickMatcher(Collection<String> expressions) {
+        Map<Character, Integer> alphabet = new HashMap<>();
+        int maxChar = 0;
+
+        for (String expression : expressions) {
+            for (int i = 0; i < expression.length(); i++) {
+                char c = fold(expression.charAt(i));
+
+                if (!alphabet.containsKey(c)) {
+                    alphabet.put(c, alphabet.size() + 1);
+                }
+
+                maxChar = Math.max(maxChar, c);
+            }
+        }
+
+        symbols = new int[maxChar + 1];
+        alphabet.forEach((c, symbol) -> symbols[c] = symbol);
+        alphabetSize = alphabet.size() + 1;
+
+        // arbre des expressions
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> lengths = new ArrayList<>();
+
+        trie.add(newState());
+        lengths.add(new ArrayList<>());
+
+        for (String expression : expressions) {
+            if (expression.isEmpty()) {
+                continue;
+            }
+
+            int state = 0;
+
+            for (int i = 0; i < expression.length(); i++) {
+                int symbol = symbols[fold(expression.charAt(i))];
+
+                if (trie.get(state)[symbol] == 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    lengths.add(new ArrayList<>());
+                }
+
+                state = trie.get(state)[symbol];
+            }
+
+            if (!lengths.get(state).contains(expression.length())) {
+                lengths.get(state).add(expression.length());
+            }
+        }
+
+        // liens d'échec, parcours en largeur : les transitions manquantes
+        // reprennent celles de l'état d'échec
+        transitions = new int[trie.size() * alphabetSize];
+        outputs = new int[trie.size()][];
+
+        int[] failures = new int[trie.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        System.arraycopy(trie.get(0), 0, transitions, 0, alphabetSize);
+        outputs[0] = toArray(lengths.get(0));
+
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            if (trie.get(0)[symbol] != 0) {
+                queue.add(trie.get(0)[symbol]);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failure = failures[state];
+
+            List<Integer> stateLengths = lengths.get(state);
+
+            for (int length : outputs[failure]) {
+                stateLengths.add(length);
+            }
+
+            outputs[state] = toArray(stateLengths);
+
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = trie.get(state)[symbol];
+
+                if (next != 0) {
+                    failures[next] = transitions[failure * alphabetSize + symbol];
+                    transitions[state * alphabetSize + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + symbol] = transitions[failure * alphabetSize + symbol];
+                }
+            }
+        }
+    }
+
+    /**
+     * @param text : texte à analyser
+     *
+     * @return true si le texte contient au moins une expression
+     */
+    public boolean containsAny(String text) {
+        return search(text, null);
+    }
+
+    /**
+     * @param text : texte à analyser
+     *
+     * @return expressions trouvées, telles qu'écrites dans le texte, dans leur
+     *         ordre d'apparition
+     */
+    public List<String> findAll(String text) {
+        List<String> matches = new ArrayList<>();
+
+        search(text, matches);
+
+        return matches;
+    }
+
+    /**
+     * Parcours du texte
+     *
+     * @param matches : expressions trouvées (null => arrêt à la première)
+     *
+     * @return true si une expression a été trouvée
+     */
+    private boolean search(String text, List<String> matches) {
+        boolean found = false;
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int symbol = c < symbols.length ? symbols[c] : 0;
+
+            state = transitions[state * alphabetSize + symbol];
+
+            for (int length : outputs[state]) {
+                int start = i + 1 - length;
+
+                if (isBoundary(text, start) && isBoundary(text, i + 1)) {
+                    if (matches == null) {
+                        return true;
+                    }
+
+                    matches.add(text.substring(start, i + 1));
+                    found = true;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private int[] newState() {
+        return new int[alphabetSize];
+    }
+
+    /**
+     * @return true si la position sépare un mot de ce qui l'entoure
+     */
+    private static boolean isBoundary(String text, int index) {
+        return index == 0 || index == text.length()
+                || !isWordChar(text.charAt(index - 1)) || !isWordChar(text.charAt(index));
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static char fold(char c) {
+        if (c < FOLDED.length) {
+            return FOLDED[c];
+        }
+
+        return c == '’' ? '\'' : Character.toLowerCase(c);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.isEmpty() ? new int[0] : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
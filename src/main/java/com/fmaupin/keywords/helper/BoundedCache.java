@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * BoundedCache
+ *
+ * Cache LRU borné en poids (nombre d'entrées par défaut), avec expiration
+ * optionnelle des entrées après écriture.
+ *
+ * Les accès sont synchronisés : le cache est destiné à des volumes modérés
+ * (quelques dizaines de milliers d'entrées) partagés par les threads de
+ * traitement.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+public class BoundedCache<K, V> {
+
+    private final long maxWeight;
+
+    private final long ttlNanos;
+
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongSupplier clock;
+
+    // ordre d'accès => l'entrée la plus anciennement utilisée est en tête
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Cache borné en nombre d'entrées.
+     *
+     * @param maxSize : nombre maximum d'entrées
+     * @param ttl     : durée de vie d'une entrée (null ou zéro => pas
+     *                d'expiration)
+     */
+    public BoundedCache(long maxSize, Duration ttl) {
+        this(maxSize, ttl, (k, v) -> 1L);
+    }
+
+    /**
+     * Cache borné en poids.
+     *
+     * @param maxWeight : poids maximum cumulé des entrées
+     * @param ttl       : durée de vie d'une entrée (null ou zéro => pas
+     *                  d'expiration)
+     * @param weigher   : calcul du poids d'une entrée
+     */
+    public BoundedCache(long maxWeight, Duration ttl, ToLongBiFunction<K, V> weigher) {
+        this(maxWeight, ttl, weigher, System::nanoTime);
+    }
+
+    BoundedCache(long maxWeight, Duration ttl, ToLongBiFunction<K, V> weigher, LongSupplier clock) {
+        this.maxWeight = Math.max(1L, maxWeight);
+        this.ttlNanos = (ttl == null || ttl.isNegative()) ? 0L : ttl.toNanos();
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    /**
+     * Retourne la valeur associée à la clé, ou null si absente ou expirée.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        if (isExpired(entry)) {
+            remove(key, entry);
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long entryWeight = Math.max(0L, weigher.applyAsLong(key, value));
+
+        // une entrée plus lourde que le cache entier n'est pas conservée
+        if (entryWeight > maxWeight) {
+            invalidate(key);
+            return;
+        }
+
+        Entry<V> previous = entries.put(key, new Entry<>(value, entryWeight, clock.getAsLong()));
+
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+
+        weight += entryWeight;
+
+        evict();
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry != null) {
+            remove(key, entry);
+        }
+    }
+
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+
+        while (weight > maxWeight && it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            weight -= eldest.getValue().weight;
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && clock.getAsLong() - entry.writeTime >= ttlNanos;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        private final long writeTime;
+
+        private Entry(V value, long weight, long writeTime) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+    }
+}
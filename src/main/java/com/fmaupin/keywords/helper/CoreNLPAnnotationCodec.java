@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * CoreNLPAnnotationCodec
+ *
+ * Encodage binaire compact d'une réponse CoreNLP réduite (cf.
+ * CoreNLPAnnotation) : texte éventuel, nombre de phrases, puis pour chaque
+ * phrase ses positions et ses tokens (word, pos, ner en UTF-8 préfixé de sa
+ * longueur).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CoreNLPAnnotationCodec {
+
+    // longueur codée sur 2 octets, 0xFFFF réservé à null
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private static final int MAX_STRING_BYTES = NULL_LENGTH - 1;
+
+    /**
+     * @throws IllegalArgumentException si un token dépasse 65534 octets
+     */
+    public static byte[] encode(CoreNLPAnnotation annotation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (annotation.getText() == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] text = annotation.getText().getBytes(StandardCharsets.UTF_8);
+
+                out.writeInt(text.length);
+                out.write(text);
+            }
+
+            out.writeInt(annotation.getSentences().size());
+
+            for (CoreNLPSentence sentence : annotation.getSentences()) {
+                out.writeInt(sentence.getBegin());
+                out.writeInt(sentence.getEnd());
+                out.writeInt(sentence.getTokens().size());
+
+                for (CoreNLPToken token : sentence.getTokens()) {
+                    writeString(out, token.getWord());
+                    writeString(out, token.getPos());
+                    writeString(out, token.getNer());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param buffer : données encodées (position avancée jusqu'à la fin de
+     *               l'annotation)
+     */
+    public static CoreNLPAnnotation decode(ByteBuffer buffer) {
+        int textLength = buffer.getInt();
+        String text = null;
+
+        if (textLength >= 0) {
+            byte[] utf8 = new byte[textLength];
+            buffer.get(utf8);
+
+            text = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        int sentenceCount = buffer.getInt();
+        List<CoreNLPSentence> sentences = new ArrayList<>(sentenceCount);
+
+        for (int i = 0; i < sentenceCount; i++) {
+            int begin = buffer.getInt();
+            int end = buffer.getInt();
+            int tokenCount = buffer.getInt();
+
+            List<CoreNLPToken> tokens = new ArrayList<>(tokenCount);
+
+            for (int j = 0; j < tokenCount; j++) {
+                String word = readString(buffer);
+
+                // vocabulaire réduit => instances partagées
+                tokens.add(new CoreNLPToken(word, intern(readString(buffer)), intern(readString(buffer))));
+            }
+
+            sentences.add(new CoreNLPSentence(tokens, begin, end));
+        }
+
+        return new CoreNLPAnnotation(text, sentences);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+
+        if (utf8.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Token too long to be encoded: " + utf8.length + " bytes");
+        }
+
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+}
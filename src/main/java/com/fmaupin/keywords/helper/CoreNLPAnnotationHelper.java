@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.helper;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * CoreNLPAnnotationHelper
+ *
+ * Découpage et recomposition des réponses CoreNLP lorsqu'un texte est annoté
+ * en plusieurs morceaux (lots de chunks, chunks trop volumineux).
+ *
+ * Les positions des phrases sont recalées pour que chaque réponse soit
+ * identique à celle d'une requête portant sur le seul texte concerné.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CoreNLPAnnotationHelper {
+
+    /**
+     * Répartit les phrases d'une réponse CoreNLP entre les textes d'origine.
+     *
+     * @param annotation : réponse CoreNLP pour les textes concaténés
+     * @param starts     : position de début de chaque texte dans le texte
+     *                   envoyé
+     *
+     * @return réponse de chaque texte
+     */
+    public static List<CoreNLPAnnotation> split(CoreNLPAnnotation annotation, int[] starts) {
+        List<List<CoreNLPSentence>> sentences = new ArrayList<>();
+
+        for (int i = 0; i < starts.length; i++) {
+            sentences.add(new ArrayList<>());
+        }
+
+        for (CoreNLPSentence sentence : annotation.getSentences()) {
+            if (sentence.getTokens().isEmpty()) {
+                continue;
+            }
+
+            int part = partIndex(starts, sentence.getBegin());
+
+            sentences.get(part).add(sentence.shift(-starts[part]));
+        }
+
+        return sentences.stream()
+                .map(partSentences -> new CoreNLPAnnotation(null, partSentences))
+                .toList();
+    }
+
+    /**
+     * Regroupe les réponses CoreNLP de textes consécutifs en une seule réponse.
+     *
+     * @param annotations : réponse CoreNLP de chaque texte
+     * @param starts      : position de début de chaque texte dans le texte
+     *                    complet
+     *
+     * @return réponse du texte complet
+     */
+    public static CoreNLPAnnotation merge(List<CoreNLPAnnotation> annotations, int[] starts) {
+        List<CoreNLPSentence> sentences = new ArrayList<>();
+
+        for (int i = 0; i < annotations.size(); i++) {
+            for (CoreNLPSentence sentence : annotations.get(i).getSentences()) {
+                sentences.add(sentence.shift(starts[i]));
+            }
+        }
+
+        return new CoreNLPAnnotation(null, sentences);
+    }
+
+    /**
+     * Découpe un texte en blocs de phrases entières d'au plus `maxChars`
+     * caractères (une phrase plus longue forme un bloc à elle seule).
+     *
+     * Les blocs mis bout à bout restituent le texte d'origine.
+     *
+     * @param text     : texte à découper
+     * @param lang     : langue du texte (règles de fin de phrase)
+     * @param maxChars : taille maximum d'un bloc
+     *
+     * @return blocs de texte
+     */
+    public static List<String> sentenceBlocks(String text, String lang, int maxChars) {
+        List<String> blocks = new ArrayList<>();
+
+        BreakIterator sentences = BreakIterator.getSentenceInstance(
+                lang != null ? Locale.forLanguageTag(lang) : Locale.ROOT);
+        sentences.setText(text);
+
+        int blockStart = 0;
+        int lastBoundary = 0;
+
+        for (int boundary = sentences.next(); boundary != BreakIterator.DONE; boundary = sentences.next()) {
+            if (boundary - blockStart > maxChars && lastBoundary > blockStart) {
+                blocks.add(text.substring(blockStart, lastBoundary));
+                blockStart = lastBoundary;
+            }
+
+            lastBoundary = boundary;
+        }
+
+        if (blockStart < text.length()) {
+            blocks.add(text.substring(blockStart));
+        }
+
+        return blocks;
+    }
+
+    private static int partIndex(int[] starts, int offset) {
+        int index = Arrays.binarySearch(starts, offset);
+
+        // pas de correspondance exacte => texte commençant avant la position
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+}
@@ -34,10 +34,12 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
 
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -62,6 +64,26 @@ public class CoreNLPHelper {
 
     private static final String LOCATION_ENTITY = "LOCATION";
 
+    private static final String SENTENCES = "sentences";
+
+    private static final String TOKENS = "tokens";
+
+    private static final String TEXT = "text";
+
+    private static final String WORD = "word";
+
+    private static final String POS = "pos";
+
+    private static final String NER = "ner";
+
+    private static final String OFFSET_BEGIN = "characterOffsetBegin";
+
+    private static final String OFFSET_END = "characterOffsetEnd";
+
+    private static final String CONLL_SEPARATOR = "\t";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private static Set<String> stopwordsFR;
     private static Set<String> stopwordsEN;
 
@@ -142,56 +164,305 @@ public class CoreNLPHelper {
      */
     public static Map<String, List<String>> extractEntities(String jsonResponse, String langDetected)
             throws CoreNLPServerException {
-        ObjectMapper mapper = new ObjectMapper();
+        return extractEntities(parseAnnotation(jsonResponse), langDetected);
+    }
 
-        mapper.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, true);
+    /**
+     * Extraction des entités nommées depuis une réponse CoreNLP déjà analysée.
+     *
+     * @param annotation   : réponse CoreNLP (cf. parseAnnotation)
+     * @param langDetected : langue détectée du texte
+     *
+     * @return Map des entités nommées extraites
+     */
+    public static Map<String, List<String>> extractEntities(CoreNLPAnnotation annotation, String langDetected) {
+        Map<String, List<String>> entities = new HashMap<>();
+        EntityBuilder builder = new EntityBuilder(langDetected);
+
+        // 1. Parcours des phrases (extraction brute)
+        for (CoreNLPSentence sentence : annotation.getSentences()) {
+            for (CoreNLPToken token : sentence.getTokens()) {
+                builder.processToken(token.getWord(), token.getPos(), token.getNer(), entities);
+            }
+
+            builder.flushEntity(entities);
+        }
+
+        String text = annotation.getText();
+
+        if (text == null || text.isEmpty()) {
+            // 🔹 Reconstitue le texte à partir des tokens
+            StringBuilder sb = new StringBuilder();
+
+            for (CoreNLPSentence sentence : annotation.getSentences()) {
+                for (CoreNLPToken token : sentence.getTokens()) {
+                    sb.append(token.getWord()).append(" ");
+                }
+            }
+
+            text = sb.toString().trim();
+        }
+
+        return postProcessEntities(entities, text, langDetected);
+    }
+
+    /**
+     * Lecture en flux d'une réponse JSON de CoreNLP.
+     *
+     * Seuls `text` et, pour chaque token, `word`, `pos`, `ner` et les positions
+     * sont conservés : les autres champs (lemmes, before/after, mentions, ...)
+     * sont ignorés sans être matérialisés.
+     *
+     * @param jsonResponse : réponse JSON de CoreNLP
+     *
+     * @return réponse réduite
+     * @throws CoreNLPServerException
+     */
+    public static CoreNLPAnnotation parseAnnotation(String jsonResponse) throws CoreNLPServerException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(jsonResponse)) {
+            return parseAnnotation(parser);
+        } catch (IOException e) {
+            throw new CoreNLPServerException("Error parsing CoreNLP JSON response", e);
+        }
+    }
+
+    /**
+     * Lecture en flux d'une réponse JSON de CoreNLP directement depuis le flux
+     * HTTP (octets UTF-8), sans copie intermédiaire en String.
+     *
+     * @param jsonResponse : flux de la réponse (non fermé)
+     *
+     * @return réponse réduite
+     * @throws CoreNLPServerException
+     */
+    public static CoreNLPAnnotation parseAnnotation(InputStream jsonResponse) throws CoreNLPServerException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(jsonResponse)) {
+            // le flux appartient à l'appelant (corps de la réponse HTTP)
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            return parseAnnotation(parser);
+        } catch (IOException e) {
+            throw new CoreNLPServerException("Error parsing CoreNLP JSON response", e);
+        }
+    }
+
+    /**
+     * Lecture d'une réponse CoreNLP au format CoNLL (colonnes word, pos, ner ;
+     * une ligne vide termine chaque phrase) directement depuis le flux HTTP.
+     *
+     * Ce format ne donne pas les positions des tokens : elles sont retrouvées
+     * en alignant les mots sur le texte envoyé (cf. alignToken).
+     *
+     * @param conllResponse : flux de la réponse (non fermé)
+     * @param text          : texte annoté (null => positions inconnues)
+     *
+     * @return réponse réduite
+     * @throws CoreNLPServerException
+     */
+    public static CoreNLPAnnotation parseConll(InputStream conllResponse, String text)
+            throws CoreNLPServerException {
+        // le flux appartient à l'appelant (corps de la réponse HTTP) : lecteur non fermé
+        BufferedReader reader = new BufferedReader(new InputStreamReader(conllResponse, StandardCharsets.UTF_8));
+
+        List<CoreNLPSentence> sentences = new ArrayList<>();
+        List<CoreNLPToken> tokens = new ArrayList<>();
+
+        // offsets : début du premier token aligné, fin du dernier, curseur dans le texte
+        int[] offsets = { -1, -1, 0 };
+        int unaligned = 0;
 
         try {
-            JsonNode root = mapper.readTree(jsonResponse);
-            Map<String, List<String>> entities = new HashMap<>();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    addSentence(sentences, tokens, offsets);
+                    tokens = new ArrayList<>();
+                    continue;
+                }
+
+                String[] columns = line.split(CONLL_SEPARATOR, -1);
 
-            // 1. Parcours des phrases (extraction brute)
-            for (JsonNode sentence : root.path("sentences")) {
-                new EntityBuilder(langDetected).processSentence(sentence, entities);
+                String word = columns[0];
+                String pos = columns.length > 1 ? columns[1].intern() : "";
+                String ner = columns.length > 2 ? columns[2].intern() : "";
+
+                tokens.add(new CoreNLPToken(word, pos, ner));
+
+                int begin = text == null ? -1 : alignToken(text, word, offsets[2], unaligned);
+
+                if (begin < 0) {
+                    unaligned += word.length();
+                    continue;
+                }
+
+                unaligned = 0;
+
+                if (offsets[0] < 0) {
+                    offsets[0] = begin;
+                }
+
+                offsets[1] = begin + word.length();
+                offsets[2] = offsets[1];
             }
+        } catch (IOException e) {
+            throw new CoreNLPServerException("Error parsing CoreNLP CoNLL response", e);
+        }
 
-            // 2. Post-correction des labels NER
-            entities = applyPostNERMapping(entities, langDetected);
+        addSentence(sentences, tokens, offsets);
 
-            // 3. econstitution du texte pour enrichissement géographique
-            String text = "";
+        return new CoreNLPAnnotation(null, sentences);
+    }
 
-            if (root.hasNonNull("text") && !root.path("text").asText().isEmpty()) {
-                text = root.path("text").asText();
-            } else {
-                // 🔹 Reconstitue le texte à partir des tokens
-                StringBuilder sb = new StringBuilder();
+    private static void addSentence(List<CoreNLPSentence> sentences, List<CoreNLPToken> tokens, int[] offsets) {
+        if (!tokens.isEmpty()) {
+            sentences.add(new CoreNLPSentence(tokens, offsets[0], offsets[1]));
+        }
 
-                for (JsonNode sentence : root.path("sentences")) {
-                    for (JsonNode token : sentence.path("tokens")) {
-                        sb.append(token.path("word").asText()).append(" ");
-                    }
+        offsets[0] = -1;
+        offsets[1] = -1;
+    }
+
+    /**
+     * Position d'un token dans le texte à partir du curseur.
+     *
+     * Seuls des blancs ou de la ponctuation peuvent précéder le token, sauf
+     * après des tokens non alignés (contractions développées par CoreNLP :
+     * "du" => "de le", ponctuation normalisée, ...) : autant de lettres que
+     * ces tokens en comptent peuvent alors être sautées.
+     *
+     * @param skippable : nombre de lettres ou chiffres pouvant être sautés
+     *
+     * @return position du token ou -1 si le token n'est pas trouvé
+     */
+    private static int alignToken(String text, String word, int cursor, int skippable) {
+        if (word.isEmpty()) {
+            return -1;
+        }
+
+        int skipped = 0;
+
+        for (int i = cursor; i + word.length() <= text.length(); i++) {
+            if (text.startsWith(word, i)) {
+                return i;
+            }
+
+            if (Character.isLetterOrDigit(text.charAt(i)) && ++skipped > skippable) {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static CoreNLPAnnotation parseAnnotation(JsonParser parser) throws IOException {
+        List<CoreNLPSentence> sentences = new ArrayList<>();
+        String text = null;
+
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (SENTENCES.equals(field) && value == JsonToken.START_ARRAY) {
+                    parseSentences(parser, sentences);
+                } else if (TEXT.equals(field) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    text = parser.getText();
+                } else {
+                    parser.skipChildren();
                 }
+            }
+        }
 
-                text = sb.toString().trim();
+        return new CoreNLPAnnotation(text, sentences);
+    }
+
+    private static void parseSentences(JsonParser parser, List<CoreNLPSentence> sentences) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
             }
 
-            // 4. Enrichissement des entités géographiques
-            List<String> locList = entities.getOrDefault(LOCATION_ENTITY, new ArrayList<>());
+            List<CoreNLPToken> tokens = new ArrayList<>();
+            int[] offsets = { -1, -1 };
 
-            if (!locList.isEmpty()) {
-                Set<String> enrichedLocs = GeoRegionPostProcessor.enrichWithRegions(text, new HashSet<>(locList),
-                        langDetected);
-                entities.put(LOCATION_ENTITY, new ArrayList<>(enrichedLocs));
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+
+                if (parser.nextToken() == JsonToken.START_ARRAY && TOKENS.equals(field)) {
+                    parseTokens(parser, tokens, offsets);
+                } else {
+                    parser.skipChildren();
+                }
             }
 
-            // 5. Déduplication : suppression des entités LOCATION des autres catégories
-            deduplicateGeographicEntities(entities);
+            sentences.add(new CoreNLPSentence(tokens, offsets[0], offsets[1]));
+        }
+    }
 
-            return entities;
-        } catch (JsonProcessingException e) {
-            throw new CoreNLPServerException("Error parsing CoreNLP JSON response", e);
+    /**
+     * @param offsets : début du premier token et fin du dernier token (mis à
+     *                jour)
+     */
+    private static void parseTokens(JsonParser parser, List<CoreNLPToken> tokens, int[] offsets)
+            throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            String word = "";
+            String pos = "";
+            String ner = "";
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (!value.isScalarValue()) {
+                    parser.skipChildren();
+                } else if (WORD.equals(field)) {
+                    word = parser.getValueAsString("");
+                } else if (POS.equals(field)) {
+                    // vocabulaire réduit => instances partagées
+                    pos = parser.getValueAsString("").intern();
+                } else if (NER.equals(field)) {
+                    ner = parser.getValueAsString("").intern();
+                } else if (OFFSET_BEGIN.equals(field) && offsets[0] < 0) {
+                    offsets[0] = parser.getValueAsInt(-1);
+                } else if (OFFSET_END.equals(field)) {
+                    offsets[1] = parser.getValueAsInt(-1);
+                }
+            }
+
+            tokens.add(new CoreNLPToken(word, pos, ner));
+        }
+    }
+
+    /**
+     * Post-traitement des entités extraites (mapping NER, enrichissement
+     * géographique, déduplication)
+     */
+    private static Map<String, List<String>> postProcessEntities(Map<String, List<String>> entities, String text,
+            String langDetected) {
+        // 2. Post-correction des labels NER
+        entities = applyPostNERMapping(entities, langDetected);
+
+        // 3. Enrichissement des entités géographiques
+        List<String> locList = entities.getOrDefault(LOCATION_ENTITY, new ArrayList<>());
+
+        if (!locList.isEmpty()) {
+            Set<String> enrichedLocs = GeoRegionPostProcessor.enrichWithRegions(text, new HashSet<>(locList),
+                    langDetected);
+            entities.put(LOCATION_ENTITY, new ArrayList<>(enrichedLocs));
         }
+
+        // 4. Déduplication : suppression des entités LOCATION des autres catégories
+        deduplicateGeographicEntities(entities);
+
+        return entities;
     }
 
     @SuppressWarnings("java:S3776")
@@ -286,25 +557,21 @@ public class CoreNLPHelper {
         }
 
         /**
-         * Traite une phrase JSON.
+         * Traite un token d'une phrase (flushEntity en fin de phrase).
          * 
-         * @param sentence : phrase JSON
+         * @param rawWord  : mot du token
+         * @param pos      : étiquette morpho-syntaxique
+         * @param ner      : étiquette NER
          * @param entities : Map des entités nommées extraites
          */
-        public void processSentence(JsonNode sentence, Map<String, List<String>> entities) {
-            for (JsonNode token : sentence.path("tokens")) {
-                String word = cleanWord(token.path("word").asText());
-                String pos = token.path("pos").asText();
-                String ner = token.path("ner").asText();
-
-                if (isEntityOrProperNoun(ner, pos)) {
-                    handleEntityToken(word, pos, ner, entities);
-                } else {
-                    flushEntity(entities);
-                }
-            }
+        public void processToken(String rawWord, String pos, String ner, Map<String, List<String>> entities) {
+            String word = cleanWord(rawWord);
 
-            flushEntity(entities);
+            if (isEntityOrProperNoun(ner, pos)) {
+                handleEntityToken(word, pos, ner, entities);
+            } else {
+                flushEntity(entities);
+            }
         }
 
         private boolean isEntityOrProperNoun(String ner, String pos) {
@@ -354,7 +621,7 @@ public class CoreNLPHelper {
             return word.trim();
         }
 
-        private void flushEntity(Map<String, List<String>> entities) {
+        public void flushEntity(Map<String, List<String>> entities) {
             if (!buffer.isEmpty() && !currentNER.isEmpty()) {
                 String entityWord = buffer.toString().trim();
 
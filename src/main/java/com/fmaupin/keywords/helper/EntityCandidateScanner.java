@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * EntityCandidateScanner
+ *
+ * Recherche locale (sans CoreNLP) des candidats à une entité dans un texte :
+ * mots à majuscule hors début de phrase, sigles (majuscule au-delà de la
+ * première lettre) et régions connues (cf. GeoRegionPostProcessor). Les mots
+ * vides ("The", "I", ...) et les élisions ("L'", "D'", ...) sont ignorés.
+ *
+ * Sans candidat, CoreNLP ne produit ni étiquette NER ni nom propre (NNP)
+ * exploitable par l'extraction des entités.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityCandidateScanner {
+
+    private static final Map<String, Set<String>> STOPWORDS;
+
+    static {
+        try {
+            STOPWORDS = Map.of(
+                    "fr", ResourceLoader.loadLines("/entity_rules/fr/stopwords.txt"),
+                    "en", ResourceLoader.loadLines("/entity_rules/en/stopwords.txt"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading EntityCandidateScanner resources", e);
+        }
+    }
+
+    /**
+     * Compte les candidats à une entité
+     *
+     * @param text         texte à analyser
+     * @param langDetected "fr" ou "en"
+     * @param limit        nombre de candidats au-delà duquel la recherche
+     *                     s'arrête
+     * @return nombre de candidats (au plus limit)
+     */
+    public static int countCandidates(String text, String langDetected, int limit) {
+        String lang = (langDetected != null && langDetected.toLowerCase().startsWith("fr")) ? "fr" : "en";
+        Set<String> stopwords = STOPWORDS.get(lang);
+
+        int count = 0;
+        int i = 0;
+        boolean sentenceStart = true;
+
+        while (i < text.length() && count < limit) {
+            char c = text.charAt(i);
+
+            if (!Character.isLetterOrDigit(c)) {
+                if (c == '.' || c == '!' || c == '?' || c == ':' || c == '\n') {
+                    sentenceStart = true;
+                }
+
+                i++;
+                continue;
+            }
+
+            int start = i;
+            boolean initialUpper = Character.isUpperCase(c);
+            boolean innerUpper = false;
+
+            for (i++; i < text.length() && Character.isLetterOrDigit(text.charAt(i)); i++) {
+                innerUpper |= Character.isUpperCase(text.charAt(i));
+            }
+
+            // élision (L', D', Qu', ...) : seul le mot suivant compte
+            if (i < text.length() && (text.charAt(i) == '\'' || text.charAt(i) == '’') && i - start <= 2) {
+                continue;
+            }
+
+            if ((innerUpper || (initialUpper && !sentenceStart))
+                    && !stopwords.contains(text.substring(start, i).toLowerCase(Locale.ROOT))) {
+                count++;
+            }
+
+            sentenceStart = false;
+        }
+
+        if (count < limit && GeoRegionPostProcessor.containsRegion(text, lang)) {
+            count++;
+        }
+
+        return count;
+    }
+}
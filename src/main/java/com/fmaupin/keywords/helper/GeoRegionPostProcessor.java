@@ -20,7 +20,6 @@ package com.fmaupin.keywords.helper;
 
 import java.io.*;
 import java.util.*;
-import java.util.regex.Pattern;
 import lombok.NoArgsConstructor;
 import lombok.AccessLevel;
 
@@ -36,17 +35,31 @@ import lombok.AccessLevel;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class GeoRegionPostProcessor {
 
-    private static final Map<String, Set<Pattern>> REGION_PATTERNS = new HashMap<>();
+    // un automate par langue : une seule lecture du texte pour toutes les régions
+    private static final Map<String, AhoCorasickMatcher> REGION_MATCHERS = new HashMap<>();
+
+    private static final AhoCorasickMatcher NO_REGION = new AhoCorasickMatcher(List.of());
 
     static {
         try {
-            REGION_PATTERNS.put("fr", ResourceLoader.loadPatterns("/entity_rules/fr/regions.txt"));
-            REGION_PATTERNS.put("en", ResourceLoader.loadPatterns("/entity_rules/en/regions.txt"));
+            REGION_MATCHERS.put("fr", new AhoCorasickMatcher(ResourceLoader.loadLines("/entity_rules/fr/regions.txt")));
+            REGION_MATCHERS.put("en", new AhoCorasickMatcher(ResourceLoader.loadLines("/entity_rules/en/regions.txt")));
         } catch (IOException e) {
             throw new UncheckedIOException("Error loading GeoRegionPostProcessor resources", e);
         }
     }
 
+    /**
+     * @param text         le texte complet
+     * @param langDetected "fr" ou "en"
+     * @return true si le texte cite au moins une région
+     */
+    public static boolean containsRegion(String text, String langDetected) {
+        String lang = (langDetected != null && langDetected.toLowerCase().startsWith("fr")) ? "fr" : "en";
+
+        return REGION_MATCHERS.getOrDefault(lang, NO_REGION).containsAny(text);
+    }
+
     /**
      * Ajoute les entités géographiques régionales manquantes au set existant.
      *
@@ -57,19 +70,11 @@ public class GeoRegionPostProcessor {
      */
     public static Set<String> enrichWithRegions(String text, Set<String> existingLocations, String langDetected) {
         String lang = (langDetected != null && langDetected.toLowerCase().startsWith("fr")) ? "fr" : "en";
-        Set<Pattern> patterns = REGION_PATTERNS.getOrDefault(lang, Collections.emptySet());
 
         Set<String> enriched = new LinkedHashSet<>(existingLocations);
 
-        for (Pattern pattern : patterns) {
-            var matcher = pattern.matcher(text);
-
-            while (matcher.find()) {
-                String region = matcher.group().trim();
-                if (!enriched.contains(region)) {
-                    enriched.add(region);
-                }
-            }
+        for (String region : REGION_MATCHERS.getOrDefault(lang, NO_REGION).findAll(text)) {
+            enriched.add(region.trim());
         }
 
         return enriched;
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.listener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import com.fmaupin.keywords.model.message.Chunk;
+import com.fmaupin.keywords.model.message.InputMessage;
+import com.fmaupin.keywords.model.message.ResultProcessMessage;
+import com.fmaupin.keywords.service.ResultService;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBackpressure;
+import com.rabbitmq.client.Channel;
+
+import lombok.Generated;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BatchMessageListener
+ *
+ * Écoute la queue et traite les messages entrants par lots (mode BATCH).
+ *
+ * Les chunks d'un lot sont traités ensemble, les échecs sont envoyés un à un
+ * vers la DLQ puis le reste du lot est acquitté en une seule fois.
+ *
+ * La consommation est suspendue tant que CoreNLP est saturé ou indisponible
+ * (cf. CoreNLPBackpressure).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Component
+@ConditionalOnProperty(name = "keywords-poc.rabbitmq.in.mode", havingValue = "batch")
+@Slf4j
+@Generated
+public class BatchMessageListener {
+
+    private final ResultService resultService;
+
+    private final CoreNLPBackpressure backpressure;
+
+    public BatchMessageListener(ResultService resultService, CoreNLPBackpressure backpressure) {
+        this.resultService = resultService;
+        this.backpressure = backpressure;
+    }
+
+    @RabbitListener(queues = "${keywords-poc.rabbitmq.in.consumerQueueName}",
+            containerFactory = "batchRabbitListenerContainerFactory", ackMode = "MANUAL")
+    public void onMessages(List<Message<Chunk>> messages, Channel channel) throws IOException {
+        log.info("Received batch of {} chunks", messages.size());
+
+        try {
+            // CoreNLP saturé ou indisponible => consommation suspendue
+            backpressure.awaitCapacity();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            // arrêt en cours → les messages du lot sont remis dans la queue
+            channel.basicNack(deliveryTag(messages.get(messages.size() - 1)), true, true);
+            return;
+        }
+
+        List<InputMessage> inputs = new ArrayList<>(messages.size());
+        List<CompletableFuture<ResultProcessMessage>> futures = new ArrayList<>(messages.size());
+
+        // traitement métier de tout le lot
+        for (Message<Chunk> message : messages) {
+            InputMessage inputMessage = InputMessage.of(message.getPayload());
+            inputs.add(inputMessage);
+
+            try {
+                futures.add(resultService.process(inputMessage));
+            } catch (RuntimeException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        long lastSuccessTag = -1;
+        int failed = 0;
+
+        for (int i = 0; i < messages.size(); i++) {
+            InputMessage inputMessage = inputs.get(i);
+            long tag = deliveryTag(messages.get(i));
+
+            try {
+                futures.get(i).join();
+
+                lastSuccessTag = Math.max(lastSuccessTag, tag);
+            } catch (Exception e) {
+                log.error("Error processing chunk: {} - {}", inputMessage.getChunk().getDocumentId(),
+                        inputMessage.getChunk().getBlockNumber(), e);
+
+                // traitement échoué → envoie du message vers la DLQ
+                channel.basicNack(tag, false, false);
+                failed++;
+            }
+        }
+
+        // traitement OK → ACK de tous les messages restants du lot
+        if (lastSuccessTag >= 0) {
+            channel.basicAck(lastSuccessTag, true);
+        }
+
+        log.info("Batch processed : {} succeeded, {} failed", messages.size() - failed, failed);
+    }
+
+    private static long deliveryTag(Message<Chunk> message) {
+        Long tag = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+
+        if (tag == null) {
+            throw new IllegalStateException("Missing delivery tag on batch message");
+        }
+
+        return tag;
+    }
+}
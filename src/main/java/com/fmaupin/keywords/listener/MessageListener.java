@@ -19,17 +19,25 @@
 package com.fmaupin.keywords.listener;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import com.fmaupin.keywords.enumeration.ListenerModeEnum;
 import com.fmaupin.keywords.model.message.Chunk;
 import com.fmaupin.keywords.model.message.InputMessage;
+import com.fmaupin.keywords.model.message.ResultProcessMessage;
 import com.fmaupin.keywords.service.ResultService;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBackpressure;
 import com.rabbitmq.client.Channel;
 
+import jakarta.annotation.PostConstruct;
 import lombok.Generated;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,19 +46,47 @@ import lombok.extern.slf4j.Slf4j;
  *
  * Écoute la queue et traite les messages entrants.
  *
+ * En mode ASYNC, le listener confie le chunk à `ResultService` et rend la main
+ * aussitôt : l'acquittement est envoyé à la fin du traitement. Le nombre de
+ * chunks non acquittés est borné, le listener attend qu'une place se libère
+ * (contre-pression vers le broker).
+ *
+ * Quel que soit le mode, le listener suspend la consommation tant que CoreNLP
+ * est saturé ou indisponible (cf. CoreNLPBackpressure).
+ *
  * @author Fabrice MAUPIN
  * @version 0.0.1-SNAPSHOT
  * @since 30/10/25
  */
 @Component
+@ConditionalOnExpression("!'${keywords-poc.rabbitmq.in.mode:sync}'.equalsIgnoreCase('batch')")
 @Slf4j
 @Generated
 public class MessageListener {
 
     private final ResultService resultService;
 
-    public MessageListener(ResultService resultService) {
+    private final CoreNLPBackpressure backpressure;
+
+    @Value("${keywords-poc.rabbitmq.in.mode:sync}")
+    private ListenerModeEnum mode;
+
+    @Value("${keywords-poc.rabbitmq.in.max-in-flight:32}")
+    private int maxInFlight;
+
+    // fenêtre des chunks en cours de traitement non acquittés (mode ASYNC)
+    private Semaphore inFlight;
+
+    public MessageListener(ResultService resultService, CoreNLPBackpressure backpressure) {
         this.resultService = resultService;
+        this.backpressure = backpressure;
+    }
+
+    @PostConstruct
+    void init() {
+        inFlight = new Semaphore(Math.max(1, maxInFlight));
+
+        log.info("MessageListener initialized in {} mode (max in flight: {})", mode, maxInFlight);
     }
 
     @RabbitListener(queues = "${keywords-poc.rabbitmq.in.consumerQueueName}", ackMode = "MANUAL")
@@ -61,6 +97,22 @@ public class MessageListener {
         log.info("Received chunk: {} - {}", inputMessage.getChunk().getDocumentId(),
                 inputMessage.getChunk().getBlockNumber());
 
+        try {
+            // CoreNLP saturé ou indisponible => consommation suspendue
+            backpressure.awaitCapacity();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            // arrêt en cours → le message est remis dans la queue
+            channel.basicNack(tag, false, true);
+            return;
+        }
+
+        if (mode == ListenerModeEnum.ASYNC) {
+            processAsync(inputMessage, channel, tag);
+            return;
+        }
+
         try {
             resultService.process(inputMessage).join(); // traitement métier
 
@@ -78,4 +130,60 @@ public class MessageListener {
             channel.basicNack(tag, false, false);
         }
     }
+
+    private void processAsync(InputMessage inputMessage, Channel channel, long tag) throws IOException {
+        try {
+            // attente d'une place dans la fenêtre => contre-pression
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            // arrêt en cours → le message est remis dans la queue
+            channel.basicNack(tag, false, true);
+            return;
+        }
+
+        CompletableFuture<ResultProcessMessage> future;
+
+        try {
+            future = resultService.process(inputMessage);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            acknowledge(inputMessage, channel, tag, e);
+            return;
+        }
+
+        future.whenComplete((result, ex) -> {
+            try {
+                acknowledge(inputMessage, channel, tag, ex);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void acknowledge(InputMessage inputMessage, Channel channel, long tag, Throwable ex) {
+        // le canal est partagé avec le thread du listener
+        synchronized (channel) {
+            try {
+                if (ex == null) {
+                    // traitement OK → ACK
+                    channel.basicAck(tag, false);
+
+                    log.info("Chunk processed successfully : {} - {}", inputMessage.getChunk().getDocumentId(),
+                            inputMessage.getChunk().getBlockNumber());
+                } else {
+                    log.error("Error processing chunk: {} - {}", inputMessage.getChunk().getDocumentId(),
+                            inputMessage.getChunk().getBlockNumber(), ex);
+
+                    // traitement échoué → envoie du message vers la DLQ
+                    channel.basicNack(tag, false, false);
+                }
+            } catch (Exception e) {
+                // canal fermé : le broker redélivrera le message
+                log.error("Unable to acknowledge chunk: {} - {}", inputMessage.getChunk().getDocumentId(),
+                        inputMessage.getChunk().getBlockNumber(), e);
+            }
+        }
+    }
 }
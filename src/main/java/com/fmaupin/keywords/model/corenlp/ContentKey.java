@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.model.corenlp;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+import lombok.EqualsAndHashCode;
+
+/**
+ * ContentKey
+ *
+ * MODEL -> empreinte (SHA-256) du texte normalisé d'un chunk, de sa langue et
+ * du profil d'annotation : deux chunks de même clé ont la même annotation
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@EqualsAndHashCode
+public class ContentKey {
+
+    private final byte[] digest;
+
+    public ContentKey(byte[] digest) {
+        this.digest = digest.clone();
+    }
+
+    /**
+     * @return 64 premiers bits de l'empreinte
+     */
+    public long high() {
+        return ByteBuffer.wrap(digest).getLong(0);
+    }
+
+    /**
+     * @return 64 bits suivants de l'empreinte
+     */
+    public long low() {
+        return ByteBuffer.wrap(digest).getLong(Long.BYTES);
+    }
+
+    @Override
+    public String toString() {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.model.corenlp;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * CoreNLPProfile
+ *
+ * MODEL -> profil d'annotation CoreNLP d'une langue (annotateurs, options)
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CoreNLPProfile {
+
+    private final String lang;
+
+    private final List<String> annotators;
+
+    private final Map<String, String> options;
+
+    // propriétés CoreNLP encodées pour l'URL
+    @ToString.Exclude
+    private final String properties;
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.model.corenlp;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * CoreNLPSentence
+ *
+ * MODEL -> réponse CoreNLP -> phrase
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CoreNLPSentence {
+
+    private final List<CoreNLPToken> tokens;
+
+    // position (caractères) du début du premier token dans le texte annoté
+    private final int begin;
+
+    // position (caractères) de la fin du dernier token dans le texte annoté
+    private final int end;
+
+    /**
+     * @return phrase dont les positions sont décalées de `delta` caractères
+     */
+    public CoreNLPSentence shift(int delta) {
+        return delta == 0 ? this : new CoreNLPSentence(tokens, begin + delta, end + delta);
+    }
+}
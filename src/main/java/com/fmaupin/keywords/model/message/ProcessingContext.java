@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.model.message;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fmaupin.keywords.model.bd.KeywordsDb;
+import com.fmaupin.keywords.model.corenlp.ChunkFingerprint;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ProcessingContext
+ *
+ * MODEL -> état d'un chunk transmis entre les étapes du traitement
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Getter
+@Setter
+public class ProcessingContext {
+
+    private final InputMessage message;
+
+    // début du traitement (durée totale loggée à la fin)
+    private final Instant start = Instant.now();
+
+    private String lang;
+
+    // réponse de CoreNLP (null si l'annotation a échoué)
+    private CoreNLPAnnotation annotation;
+
+    // réponse reçue de CoreNLP, à conserver sur disque (cf.
+    // CoreNLPAnnotationStore) lors de l'étape POST_PROCESS
+    private boolean storable;
+
+    // clé du texte du chunk (null sans cache ni regroupement des appels)
+    private ContentKey cacheKey;
+
+    // empreinte de similarité du texte (null sans détection des quasi-doublons)
+    private ChunkFingerprint fingerprint;
+
+    // clé du chunk quasi identique déjà annoté (cf. NearDuplicateService), ou
+    // null
+    private ContentKey nearDuplicate;
+
+    // chunk sans candidat à une entité annoté pour mesurer la précision du
+    // filtre (cf. EntityCandidateFilter)
+    private boolean filterSample;
+
+    // entités extraites (issues du cache ou de la réponse CoreNLP)
+    private Map<String, List<String>> entities;
+
+    private List<KeywordsDb.CategorizedKeyword> keywords;
+
+    public ProcessingContext(InputMessage message) {
+        this.message = message;
+    }
+
+    public String getText() {
+        return message.getChunk().getBlock();
+    }
+}
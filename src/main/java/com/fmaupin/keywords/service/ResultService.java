@@ -22,15 +22,16 @@ import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import com.fmaupin.keywords.enumeration.StatusEnum;
 import com.fmaupin.keywords.model.message.InputMessage;
+import com.fmaupin.keywords.model.message.ProcessingContext;
 import com.fmaupin.keywords.model.message.ResultProcessMessage;
 import com.fmaupin.keywords.service.logic.LogicService;
 
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -49,15 +50,32 @@ public class ResultService {
 
     private final LogicService logicService;
 
-    // gestionnaire d'exécution des tâches asynchrones
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    // gestionnaires d'exécution des étapes du traitement (cf. ExecutorConfig)
+    private final ExecutorService detectExecutor;
+
+    private final ExecutorService annotateExecutor;
+
+    private final ExecutorService postProcessExecutor;
 
-    public ResultService(LogicService logicService) {
+    private final ExecutorService persistExecutor;
+
+    public ResultService(LogicService logicService,
+            @Qualifier("detectExecutor") ExecutorService detectExecutor,
+            @Qualifier("annotateExecutor") ExecutorService annotateExecutor,
+            @Qualifier("postProcessExecutor") ExecutorService postProcessExecutor,
+            @Qualifier("persistExecutor") ExecutorService persistExecutor) {
         this.logicService = logicService;
+        this.detectExecutor = detectExecutor;
+        this.annotateExecutor = annotateExecutor;
+        this.postProcessExecutor = postProcessExecutor;
+        this.persistExecutor = persistExecutor;
     }
 
     /**
      * Traite un message RabbitMQ (asynchrone)
+     *
+     * Chaque étape est exécutée par le pool qui lui est dédié : détection de la
+     * langue -> annotation CoreNLP -> post-traitement -> persistance.
      */
     public CompletableFuture<ResultProcessMessage> process(InputMessage input) {
         ResultProcessMessage tracker = ResultProcessMessage.builder()
@@ -66,7 +84,10 @@ public class ResultService {
                 .build();
 
         return CompletableFuture
-                .supplyAsync(() -> logicService.run(input), executorService)
+                .supplyAsync(() -> logicService.detectLanguage(new ProcessingContext(input)), detectExecutor)
+                .thenComposeAsync(logicService::annotateAsync, annotateExecutor)
+                .thenApplyAsync(logicService::postProcess, postProcessExecutor)
+                .thenApplyAsync(logicService::persist, persistExecutor)
                 .thenApply(result -> {
                     markComplete(tracker, result);
                     return tracker;
@@ -97,10 +118,4 @@ public class ResultService {
                 input.getChunk().getBlockNumber(),
                 ex);
     }
-
-    @PreDestroy
-    public void shutdown() {
-        executorService.shutdownNow();
-        log.info("ExecutorService shutdown");
-    }
 }
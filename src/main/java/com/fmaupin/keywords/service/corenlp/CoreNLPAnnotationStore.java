@@ -0,0 +1,560 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.helper.CoreNLPAnnotationCodec;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPAnnotationStore
+ *
+ * Stockage sur disque des réponses CoreNLP, conservé entre deux redémarrages :
+ * une annotation trouvée évite l'appel HTTP et l'analyse de la réponse.
+ *
+ * Les annotations (cf. CoreNLPAnnotationCodec) sont ajoutées à la suite dans
+ * des segments de `segment-size` projetés en mémoire (mmap). Chaque
+ * enregistrement porte la clé du chunk (cf. ContentKey) et un CRC : au
+ * démarrage, la lecture des segments reconstruit l'index et s'arrête au
+ * premier enregistrement incomplet. L'index (clé -> segment, position) est une
+ * table à adressage ouvert de tableaux de long.
+ *
+ * Au-delà de `max-size`, le segment le plus ancien est compacté : seules les
+ * annotations relues depuis leur écriture sont recopiées dans le segment
+ * courant, les autres sont abandonnées avec le fichier.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPAnnotationStore {
+
+    private static final String STORE_METRIC = "keywords.annotation.store";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    // enregistrement : longueur, clé (2 x 64 bits), CRC32 de la clé et des données
+    private static final int KEY_OFFSET = Integer.BYTES;
+
+    private static final int KEY_BYTES = 2 * Long.BYTES;
+
+    private static final int CRC_OFFSET = KEY_OFFSET + KEY_BYTES;
+
+    static final int HEADER_BYTES = CRC_OFFSET + Integer.BYTES;
+
+    // segment projeté en un seul tampon
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    @Value("${keywords-poc.annotation-store.enabled:false}")
+    private boolean enabled;
+
+    @Value("${keywords-poc.annotation-store.directory:data/annotation-store}")
+    private Path directory;
+
+    @Value("${keywords-poc.annotation-store.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${keywords-poc.annotation-store.max-size:1GB}")
+    private DataSize maxSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private Index index = new Index(1024);
+
+    private Segment active;
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter compactions;
+
+    @PostConstruct
+    public void init() throws IOException {
+        hits = Counter.builder(STORE_METRIC)
+                .description("Chunks whose CoreNLP annotation was read from the annotation store")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder(STORE_METRIC)
+                .description("Chunks missing from the annotation store")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        compactions = Counter.builder(STORE_METRIC + ".compactions")
+                .description("Segments compacted out of the annotation store")
+                .register(meterRegistry);
+        Gauge.builder(STORE_METRIC + ".size", this, CoreNLPAnnotationStore::size)
+                .description("CoreNLP annotations in the annotation store")
+                .register(meterRegistry);
+        Gauge.builder(STORE_METRIC + ".disk", this, CoreNLPAnnotationStore::diskSize)
+                .description("Disk space reserved by the annotation store segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        Files.createDirectories(directory);
+
+        for (Path path : segmentFiles()) {
+            Segment segment = Segment.open(path, segmentId(path), 0L);
+
+            scan(segment);
+            segments.put(segment.id, segment);
+        }
+
+        active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+
+        log.info("CoreNLPAnnotationStore initialized with {} annotations in {} segment(s) of {} ({}) in {} ms",
+                index.size, segments.size(), segmentSize, directory.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+
+            segments.clear();
+            active = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return annotation stockée pour la clé, ou null
+     */
+    public CoreNLPAnnotation get(ContentKey key) {
+        if (!enabled || key == null) {
+            return null;
+        }
+
+        long high = key.high();
+        long low = key.low();
+
+        lock.readLock().lock();
+
+        try {
+            int slot = index.find(high, low);
+
+            if (slot < 0 || active == null) {
+                misses.increment();
+                return null;
+            }
+
+            long location = index.locations[slot];
+            Segment segment = segments.get(Index.segmentOf(location));
+            int offset = Index.offsetOf(location);
+
+            // lecture => annotation conservée lors de la prochaine compaction
+            index.markHit(slot);
+            hits.increment();
+
+            int length = segment.buffer.getInt(offset);
+
+            return CoreNLPAnnotationCodec.decode(segment.buffer.slice(offset + HEADER_BYTES, length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(ContentKey key, CoreNLPAnnotation annotation) {
+        if (!enabled || key == null || annotation == null) {
+            return;
+        }
+
+        byte[] payload;
+
+        try {
+            payload = CoreNLPAnnotationCodec.encode(annotation);
+        } catch (IllegalArgumentException e) {
+            log.debug("Annotation of {} not stored: {}", key, e.getMessage());
+            return;
+        }
+
+        if (HEADER_BYTES + payload.length > segmentBytes()) {
+            log.debug("Annotation of {} not stored: {} bytes exceed the segment size", key, payload.length);
+            return;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            if (active == null || index.find(key.high(), key.low()) >= 0) {
+                return;
+            }
+
+            append(key.high(), key.low(), ByteBuffer.wrap(payload));
+
+            // le segment courant n'est jamais compacté
+            while (reservedBytes() > maxSize.toBytes() && segments.firstEntry().getValue() != active) {
+                compactOldest();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return index.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long diskSize() {
+        lock.readLock().lock();
+
+        try {
+            return reservedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long reservedBytes() {
+        return segments.values().stream().mapToLong(s -> s.buffer.capacity()).sum();
+    }
+
+    private void append(long high, long low, ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+
+        if ((long) active.writePosition + HEADER_BYTES + length > active.buffer.capacity()) {
+            // segment courant scellé sur disque avant d'en ouvrir un nouveau
+            active.buffer.force();
+            active = roll();
+        }
+
+        MappedByteBuffer buffer = active.buffer;
+        int offset = active.writePosition;
+
+        buffer.putLong(offset + KEY_OFFSET, high);
+        buffer.putLong(offset + KEY_OFFSET + Long.BYTES, low);
+        buffer.put(offset + HEADER_BYTES, payload, payload.position(), length);
+        buffer.putInt(offset + CRC_OFFSET, crc(buffer, offset, length));
+        // longueur écrite en dernier : enregistrement complet
+        buffer.putInt(offset, length);
+
+        active.writePosition = offset + HEADER_BYTES + length;
+
+        index.put(high, low, Index.location(active.id, offset));
+
+        if (index.size * 2 > index.capacity()) {
+            index = index.rebuild(index.capacity() * 2, -1);
+        }
+    }
+
+    private void compactOldest() throws IOException {
+        Segment oldest = segments.firstEntry().getValue();
+        int kept = 0;
+
+        for (int offset = 0; offset < oldest.writePosition;) {
+            MappedByteBuffer buffer = oldest.buffer;
+            int length = buffer.getInt(offset);
+            long high = buffer.getLong(offset + KEY_OFFSET);
+            long low = buffer.getLong(offset + KEY_OFFSET + Long.BYTES);
+
+            int slot = index.find(high, low);
+
+            if (slot >= 0 && index.locations[slot] == (Index.location(oldest.id, offset) | Index.HIT_FLAG)) {
+                append(high, low, buffer.slice(offset + HEADER_BYTES, length));
+                kept++;
+            }
+
+            offset += HEADER_BYTES + length;
+        }
+
+        segments.remove(oldest.id);
+        index = index.rebuild(index.capacity(), oldest.id);
+
+        oldest.close();
+        Files.deleteIfExists(oldest.path);
+
+        compactions.increment();
+
+        log.info("Annotation store segment {} compacted ({} annotation(s) kept)", oldest.path.getFileName(), kept);
+    }
+
+    /**
+     * Reconstruit l'index à partir des enregistrements du segment
+     */
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = 0;
+
+        while ((long) offset + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+
+            if (length <= 0 || (long) offset + HEADER_BYTES + length > buffer.capacity()
+                    || buffer.getInt(offset + CRC_OFFSET) != crc(buffer, offset, length)) {
+                break;
+            }
+
+            index.put(buffer.getLong(offset + KEY_OFFSET), buffer.getLong(offset + KEY_OFFSET + Long.BYTES),
+                    Index.location(segment.id, offset));
+
+            if (index.size * 2 > index.capacity()) {
+                index = index.rebuild(index.capacity() * 2, -1);
+            }
+
+            offset += HEADER_BYTES + length;
+        }
+
+        segment.writePosition = offset;
+
+        // écriture interrompue : la suite du segment est ignorée
+        if ((long) offset + Integer.BYTES <= buffer.capacity() && buffer.getInt(offset) != 0) {
+            log.warn("Annotation store segment {} truncated at offset {}", segment.path.getFileName(), offset);
+            buffer.putInt(offset, 0);
+        }
+    }
+
+    private Segment roll() throws IOException {
+        int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+        Segment segment = Segment.open(directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id,
+                SEGMENT_SUFFIX)), id, segmentBytes());
+
+        segments.put(id, segment);
+
+        return segment;
+    }
+
+    private long segmentBytes() {
+        return Math.min(MAX_SEGMENT_BYTES, Math.max(HEADER_BYTES, segmentSize.toBytes()));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().matches(SEGMENT_PREFIX + "\\d+\\" + SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int segmentId(Path path) {
+        String name = path.getFileName().toString();
+
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+
+        crc.update(buffer.slice(offset + KEY_OFFSET, KEY_BYTES));
+        crc.update(buffer.slice(offset + HEADER_BYTES, length));
+
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Fichier segment projeté en mémoire
+     */
+    private static final class Segment {
+
+        private final int id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int writePosition;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * @param size : taille minimum du fichier (0 => taille existante)
+         */
+        static Segment open(Path path, int id, long size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            long mapped = Math.min(MAX_SEGMENT_BYTES, Math.max(size, channel.size()));
+
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped));
+        }
+
+        void close() {
+            buffer.force();
+
+            // la projection est libérée par le GC
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Unable to close annotation store segment {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Index clé -> position (segment sur 32 bits, indicateur de lecture,
+     * position sur 31 bits) à adressage ouvert
+     */
+    static final class Index {
+
+        static final long HIT_FLAG = 1L << 31;
+
+        private static final long EMPTY = -1L;
+
+        private final long[] highs;
+
+        private final long[] lows;
+
+        private final long[] locations;
+
+        private int size;
+
+        Index(int capacity) {
+            highs = new long[capacity];
+            lows = new long[capacity];
+            locations = new long[capacity];
+
+            Arrays.fill(locations, EMPTY);
+        }
+
+        static long location(int segment, int offset) {
+            return ((long) segment << 32) | offset;
+        }
+
+        static int segmentOf(long location) {
+            return (int) (location >>> 32);
+        }
+
+        static int offsetOf(long location) {
+            return (int) (location & (HIT_FLAG - 1));
+        }
+
+        int capacity() {
+            return locations.length;
+        }
+
+        /**
+         * @return emplacement de la clé, ou -1
+         */
+        int find(long high, long low) {
+            int mask = locations.length - 1;
+
+            for (int slot = (int) (high ^ (high >>> 32)) & mask;; slot = (slot + 1) & mask) {
+                if (locations[slot] == EMPTY) {
+                    return -1;
+                }
+
+                if (highs[slot] == high && lows[slot] == low) {
+                    return slot;
+                }
+            }
+        }
+
+        void put(long high, long low, long location) {
+            int mask = locations.length - 1;
+            int slot = (int) (high ^ (high >>> 32)) & mask;
+
+            while (locations[slot] != EMPTY && (highs[slot] != high || lows[slot] != low)) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (locations[slot] == EMPTY) {
+                size++;
+            }
+
+            highs[slot] = high;
+            lows[slot] = low;
+            locations[slot] = location;
+        }
+
+        void markHit(int slot) {
+            locations[slot] |= HIT_FLAG;
+        }
+
+        /**
+         * @param dropped : segment dont les clés sont retirées (-1 => aucun)
+         */
+        Index rebuild(int capacity, int dropped) {
+            Index rebuilt = new Index(capacity);
+
+            for (int slot = 0; slot < locations.length; slot++) {
+                if (locations[slot] != EMPTY && segmentOf(locations[slot]) != dropped) {
+                    rebuilt.put(highs[slot], lows[slot], locations[slot]);
+                }
+            }
+
+            return rebuilt;
+        }
+    }
+}
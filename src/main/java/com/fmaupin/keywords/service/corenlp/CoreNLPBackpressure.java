@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.enumeration.CircuitStateEnum;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPBackpressure
+ *
+ * Suspension de la consommation des chunks lorsque CoreNLP est saturé (appels
+ * en attente de la limite de concurrence) ou indisponible (disjoncteur
+ * ouvert) : les listeners attendent avant de traiter un nouveau chunk plutôt
+ * que de le faire échouer.
+ *
+ * Disjoncteur en essai (half-open) : la consommation reprend, les appels
+ * d'essai ne peuvent venir que des nouveaux chunks (le disjoncteur limite
+ * lui-même leur nombre).
+ *
+ * L'attente est réveillée par les changements d'état du disjoncteur et la fin
+ * des attentes de la limite de concurrence (pas de scrutation périodique).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPBackpressure {
+
+    private final CoreNLPConcurrencyLimiter limiter;
+
+    private final CoreNLPCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean paused;
+
+    // nombre de changements d'état signalés (réveil des listeners en attente)
+    private volatile long stateChanges;
+
+    @PostConstruct
+    public void init() {
+        limiter.addWaitingListener(this::onStateChange);
+        circuitBreaker.addStateListener(this::onStateChange);
+
+        Gauge.builder("keywords.consumption.paused", this, b -> b.paused ? 1d : 0d)
+                .description("1 while chunk consumption is paused because CoreNLP is saturated or unavailable")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true si CoreNLP ne peut pas accepter de nouveau chunk
+     */
+    public boolean isSaturated() {
+        return circuitBreaker.getState() == CircuitStateEnum.OPEN || limiter.getWaiting() > 0;
+    }
+
+    /**
+     * Attend que CoreNLP puisse accepter un nouveau chunk
+     */
+    public void awaitCapacity() throws InterruptedException {
+        if (!isSaturated()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!paused) {
+                paused = true;
+                log.warn("CoreNLP saturated or unavailable, pausing chunk consumption");
+            }
+        }
+
+        while (true) {
+            // lu avant la vérification : un changement intermédiaire n'est pas perdu
+            long seen = stateChanges;
+
+            if (!isSaturated()) {
+                break;
+            }
+
+            awaitStateChange(seen);
+        }
+
+        synchronized (this) {
+            if (paused) {
+                paused = false;
+                log.info("CoreNLP available again, resuming chunk consumption");
+            }
+        }
+    }
+
+    /**
+     * Appelé sous le verrou de la limite ou du disjoncteur : isSaturated() n'est
+     * jamais appelé sous le verrou de ce service (pas d'interblocage)
+     */
+    private synchronized void onStateChange() {
+        stateChanges++;
+        notifyAll();
+    }
+
+    private synchronized void awaitStateChange(long seen) throws InterruptedException {
+        while (stateChanges == seen) {
+            wait();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.CoreNLPAnnotationHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPBatcher
+ *
+ * Regroupement de plusieurs chunks de même langue dans une seule requête
+ * CoreNLP (coût fixe HTTP et pipeline CoreNLP payé une fois par lot).
+ *
+ * Les chunks sont concaténés, séparés par une ligne vide qui termine toujours
+ * la phrase en cours. Les phrases de la réponse sont ensuite réparties entre
+ * les chunks d'origine d'après leur position (cf.
+ * CoreNLPAnnotationHelper.split) : chaque chunk reçoit la réponse qu'aurait
+ * produite une requête isolée.
+ *
+ * Un lot part dès `max-size` chunks reçus, au plus tard `linger` après
+ * l'arrivée de son premier chunk.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+public class CoreNLPBatcher {
+
+    // ligne vide => fin de phrase (ssplit.newlineIsSentenceBreak=two)
+    public static final String CHUNK_SEPARATOR = "\n\n";
+
+    @Value("${coreNLP.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${coreNLP.batch.max-size:8}")
+    private int maxSize;
+
+    @Value("${coreNLP.batch.linger:20ms}")
+    private Duration linger;
+
+    private final CoreNLPClient coreNLPClient;
+
+    private final ExecutorService annotateExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    // lots en cours de constitution, par langue
+    private final Map<String, Batch> pending = new HashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private DistributionSummary batchSize;
+
+    public CoreNLPBatcher(CoreNLPClient coreNLPClient,
+            @Qualifier("annotateExecutor") ExecutorService annotateExecutor, MeterRegistry meterRegistry) {
+        this.coreNLPClient = coreNLPClient;
+        this.annotateExecutor = annotateExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        batchSize = DistributionSummary.builder("keywords.corenlp.batch.size")
+                .description("Number of chunks sent in a single CoreNLP request")
+                .register(meterRegistry);
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "corenlp-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("CoreNLPBatcher initialized (max size {}, linger {})", maxSize, linger);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return true si les chunks sont regroupés (un lot d'un seul chunk est
+     *         équivalent à un appel direct)
+     */
+    public boolean isEnabled() {
+        return enabled && maxSize > 1;
+    }
+
+    /**
+     * Ajoute un chunk au lot de sa langue
+     *
+     * @param text : texte du chunk
+     * @param lang : langue du chunk
+     *
+     * @return réponse de CoreNLP limitée aux phrases du chunk
+     */
+    public CompletableFuture<CoreNLPAnnotation> submit(String text, String lang) {
+        BatchItem item = new BatchItem(text);
+        Batch full = null;
+
+        synchronized (pending) {
+            Batch batch = pending.get(lang);
+
+            if (batch == null) {
+                batch = new Batch(lang);
+                pending.put(lang, batch);
+
+                Batch scheduled = batch;
+                batch.linger = scheduler.schedule(() -> expire(scheduled), linger.toNanos(),
+                        TimeUnit.NANOSECONDS);
+            }
+
+            batch.items.add(item);
+
+            if (batch.items.size() >= maxSize) {
+                pending.remove(lang);
+                batch.linger.cancel(false);
+                full = batch;
+            }
+        }
+
+        if (full != null) {
+            // lot complet => envoyé depuis le thread appelant
+            send(full);
+        }
+
+        return item.future;
+    }
+
+    /**
+     * Fin d'attente d'un lot incomplet : envoi sur le pool de l'étape ANNOTATE
+     * (appel bloquant en mode blocking)
+     */
+    private void expire(Batch batch) {
+        synchronized (pending) {
+            if (pending.get(batch.lang) != batch) {
+                // déjà envoyé (lot complet)
+                return;
+            }
+
+            pending.remove(batch.lang);
+        }
+
+        annotateExecutor.execute(() -> send(batch));
+    }
+
+    private void send(Batch batch) {
+        List<BatchItem> items = batch.items;
+
+        batchSize.record(items.size());
+
+        if (items.size() == 1) {
+            BatchItem item = items.get(0);
+
+            coreNLPClient.annotateAsync(item.text, batch.lang).whenComplete((annotation, ex) -> {
+                if (ex != null) {
+                    item.future.completeExceptionally(ex);
+                } else {
+                    item.future.complete(annotation);
+                }
+            });
+
+            return;
+        }
+
+        StringBuilder text = new StringBuilder();
+        int[] starts = new int[items.size()];
+
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                text.append(CHUNK_SEPARATOR);
+            }
+
+            starts[i] = text.length();
+            text.append(items.get(i).text);
+        }
+
+        coreNLPClient.annotateAsync(text.toString(), batch.lang).whenComplete((response, ex) -> {
+            if (ex != null) {
+                fail(items, ex);
+                return;
+            }
+
+            try {
+                List<CoreNLPAnnotation> annotations = CoreNLPAnnotationHelper.split(response, starts);
+
+                for (int i = 0; i < items.size(); i++) {
+                    items.get(i).future.complete(annotations.get(i));
+                }
+            } catch (RuntimeException e) {
+                fail(items, e);
+            }
+        });
+    }
+
+    private static void fail(List<BatchItem> items, Throwable cause) {
+        items.forEach(item -> item.future.completeExceptionally(cause));
+    }
+
+    private static class BatchItem {
+
+        private final String text;
+
+        private final CompletableFuture<CoreNLPAnnotation> future = new CompletableFuture<>();
+
+        BatchItem(String text) {
+            this.text = text;
+        }
+    }
+
+    private static class Batch {
+
+        private final String lang;
+
+        private final List<BatchItem> items = new ArrayList<>();
+
+        private ScheduledFuture<?> linger;
+
+        Batch(String lang) {
+            this.lang = lang;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.enumeration.CircuitStateEnum;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPCircuitBreaker
+ *
+ * Disjoncteur des appels CoreNLP.
+ *
+ * Le disjoncteur s'ouvre lorsque le taux d'échec des `window-size` derniers
+ * appels dépasse `failure-rate-threshold`. Ouvert, il suspend les appels (les
+ * chunks attendent au lieu d'échouer) pendant `open-duration`, puis laisse
+ * passer `half-open-calls` appels d'essai : leur succès le referme, un échec le
+ * rouvre.
+ *
+ * Chaque changement d'état est signalé aux observateurs (cf.
+ * CoreNLPBackpressure), y compris la fin de `open-duration`, planifiée même si
+ * aucun appel n'interroge le disjoncteur.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPCircuitBreaker {
+
+    // attente maximum entre deux vérifications de l'état
+    private static final long MAX_WAIT_MILLIS = 1000L;
+
+    @Value("${coreNLP.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${coreNLP.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${coreNLP.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${coreNLP.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${coreNLP.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    private final MeterRegistry meterRegistry;
+
+    private final List<Runnable> stateListeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private CircuitStateEnum state = CircuitStateEnum.CLOSED;
+
+    // résultats des derniers appels (true => échec)
+    private boolean[] window;
+
+    private int windowIndex;
+
+    private int calls;
+
+    private int failures;
+
+    private long openUntil;
+
+    private int trialCalls;
+
+    private int trialSuccesses;
+
+    @PostConstruct
+    public void init() {
+        window = new boolean[Math.max(1, windowSize)];
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "corenlp-circuit");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("keywords.corenlp.circuit.state", this, b -> b.getState().ordinal())
+                .description("CoreNLP circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+
+        log.info("CoreNLPCircuitBreaker initialized (window {}, failure rate {}, open {})", window.length,
+                failureRateThreshold, openDuration);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @param listener : appelé à chaque changement d'état, sous le verrou du
+     *                 disjoncteur (ne doit pas l'attendre)
+     */
+    public void addStateListener(Runnable listener) {
+        stateListeners.add(listener);
+    }
+
+    public synchronized CircuitStateEnum getState() {
+        refreshState(System.nanoTime());
+
+        return state;
+    }
+
+    /**
+     * Attend que le disjoncteur autorise un appel
+     */
+    public synchronized void awaitPermission() throws InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+
+            refreshState(now);
+
+            if (state == CircuitStateEnum.CLOSED) {
+                return;
+            }
+
+            if (state == CircuitStateEnum.HALF_OPEN && trialCalls < halfOpenCalls) {
+                trialCalls++;
+                return;
+            }
+
+            long waitMillis = state == CircuitStateEnum.OPEN
+                    ? TimeUnit.NANOSECONDS.toMillis(openUntil - now) + 1
+                    : MAX_WAIT_MILLIS;
+
+            wait(Math.max(1L, Math.min(MAX_WAIT_MILLIS, waitMillis)));
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == CircuitStateEnum.HALF_OPEN) {
+            trialSuccesses++;
+
+            if (trialSuccesses >= halfOpenCalls) {
+                transition(CircuitStateEnum.CLOSED);
+            }
+
+            return;
+        }
+
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == CircuitStateEnum.HALF_OPEN) {
+            transition(CircuitStateEnum.OPEN);
+            return;
+        }
+
+        record(true);
+
+        if (state == CircuitStateEnum.CLOSED && calls >= minimumCalls
+                && failures >= failureRateThreshold * calls) {
+            transition(CircuitStateEnum.OPEN);
+        }
+    }
+
+    /**
+     * Appel abandonné : libère l'appel d'essai éventuel
+     */
+    public synchronized void onCancel() {
+        if (state == CircuitStateEnum.HALF_OPEN && trialCalls > 0) {
+            trialCalls--;
+            notifyAll();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            // la plus ancienne mesure sort de la fenêtre
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+
+        window[windowIndex] = failure;
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (failure) {
+            failures++;
+        }
+    }
+
+    private void refreshState(long now) {
+        if (state == CircuitStateEnum.OPEN && now - openUntil >= 0) {
+            transition(CircuitStateEnum.HALF_OPEN);
+        }
+    }
+
+    private void transition(CircuitStateEnum target) {
+        CircuitStateEnum previous = state;
+        state = target;
+
+        if (target == CircuitStateEnum.OPEN) {
+            openUntil = System.nanoTime() + openDuration.toNanos();
+
+            // passage en half-open à l'échéance, même sans appel
+            scheduler.schedule(this::getState, openDuration.toNanos(), TimeUnit.NANOSECONDS);
+
+            log.warn("CoreNLP circuit breaker opened for {} ({} failures in {} calls)", openDuration, failures,
+                    calls);
+        } else if (target == CircuitStateEnum.HALF_OPEN) {
+            log.info("CoreNLP circuit breaker half-open, trying {} call(s)", halfOpenCalls);
+        } else {
+            log.info("CoreNLP circuit breaker closed (was {})", previous);
+        }
+
+        // nouvel état => nouvelles mesures
+        calls = 0;
+        failures = 0;
+        windowIndex = 0;
+        trialCalls = 0;
+        trialSuccesses = 0;
+
+        notifyAll();
+
+        stateListeners.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fmaupin.keywords.enumeration.CoreNLPClientModeEnum;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * CoreNLPClient
+ *
+ * Client du serveur CoreNLP.
+ *
+ * Chaque appel est adressé au serveur choisi par CoreNLPLoadBalancer.
+ *
+ * Les appels passent par un disjoncteur (CoreNLPCircuitBreaker) et une limite
+ * adaptative du nombre d'appels simultanés (CoreNLPConcurrencyLimiter) : les
+ * threads de traitement attendent au-delà de la limite ou tant que le
+ * disjoncteur est ouvert.
+ *
+ * En mode reactive (WebClient), les appels en cours n'occupent aucun thread :
+ * seuls les threads d'entrée/sortie de Reactor Netty sont utilisés.
+ *
+ * La réponse est lue en flux depuis le corps HTTP (octets) et réduite aux
+ * données utiles (cf. CoreNLPHelper.parseAnnotation) : ni copie en String ni
+ * arbre JSON complet en mémoire.
+ *
+ * Les annotateurs et options demandés dépendent de la langue
+ * (cf. CoreNLPProfiles). Le format de réponse est choisi par
+ * `coreNLP.output-format` : json (défaut) ou conll, limité aux colonnes word,
+ * pos et ner (cf. CoreNLPHelper.parseConll).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+public class CoreNLPClient {
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    @Value("${coreNLP.client.mode:blocking}")
+    private CoreNLPClientModeEnum mode;
+
+    @Value("${coreNLP.http.max-response-size:64MB}")
+    private DataSize maxResponseSize;
+
+    private final RestTemplate restTemplate;
+
+    private final WebClient webClient;
+
+    private final CoreNLPLoadBalancer loadBalancer;
+
+    private final CoreNLPHedgingPolicy hedgingPolicy;
+
+    private final CoreNLPConcurrencyLimiter limiter;
+
+    private final CoreNLPCircuitBreaker circuitBreaker;
+
+    private final CoreNLPProfiles profiles;
+
+    public CoreNLPClient(@Qualifier("coreNLPRestTemplate") RestTemplate restTemplate,
+            @Qualifier("coreNLPWebClient") WebClient webClient, CoreNLPLoadBalancer loadBalancer,
+            CoreNLPHedgingPolicy hedgingPolicy, CoreNLPConcurrencyLimiter limiter,
+            CoreNLPCircuitBreaker circuitBreaker, CoreNLPProfiles profiles) {
+        this.restTemplate = restTemplate;
+        this.webClient = webClient;
+        this.loadBalancer = loadBalancer;
+        this.hedgingPolicy = hedgingPolicy;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.profiles = profiles;
+    }
+
+    @PostConstruct
+    public void init() {
+        log.info("CoreNLPClient initialized (mode: {}, output format: {})", mode, profiles.getOutputFormat());
+    }
+
+    /**
+     * Annote un texte avec le serveur CoreNLP (UTF-8 & synchrone).
+     *
+     * @param text : texte à annoter
+     * @param lang : langue du texte
+     *
+     * @return réponse de CoreNLP
+     * @throws CoreNLPServerException
+     */
+    public CoreNLPAnnotation annotate(String text, String lang) throws CoreNLPServerException {
+        return annotateWith(text, profiles.get(lang).getProperties());
+    }
+
+    private CoreNLPAnnotation annotateWith(String text, String properties) {
+        acquire();
+
+        long start = System.nanoTime();
+
+        try {
+            // requêtes doublées => appel non bloquant attendu sur le thread appelant
+            CoreNLPAnnotation response = hedgingPolicy.isEnabled() ? call(text, properties).block() : post(text, properties);
+
+            onSuccess(start);
+
+            return response;
+        } catch (RuntimeException e) {
+            onFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Appel bloquant (RestTemplate) du serveur choisi par la répartition de
+     * charge
+     */
+    private CoreNLPAnnotation post(String text, String properties) {
+        CoreNLPEndpoint endpoint = loadBalancer.choose();
+        long start = System.nanoTime();
+
+        try {
+            String coreNLPUrl = buildCoreNLPUrl(endpoint, properties);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(TEXT_PLAIN_UTF8);
+
+            HttpEntity<String> request = new HttpEntity<>(text, headers);
+
+            // réponse lue directement depuis le flux HTTP
+            CoreNLPAnnotation response = restTemplate.execute(coreNLPUrl, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(request),
+                    clientResponse -> parse(clientResponse.getBody(), text));
+
+            loadBalancer.onSuccess(endpoint, System.nanoTime() - start);
+
+            return response;
+        } catch (RuntimeException e) {
+            loadBalancer.onFailure(endpoint, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Annote un texte avec le serveur CoreNLP sans bloquer de thread pendant
+     * l'appel (mode reactive).
+     *
+     * En mode blocking, l'appel est effectué sur le thread appelant.
+     *
+     * Une ligne vide termine toujours la phrase en cours : un texte composé de
+     * plusieurs chunks séparés par CoreNLPBatcher.CHUNK_SEPARATOR est annoté
+     * en une seule requête sans qu'aucune phrase ne chevauche deux chunks.
+     *
+     * @param text : texte à annoter
+     * @param lang : langue du texte
+     *
+     * @return réponse de CoreNLP (en échec si l'appel échoue)
+     */
+    public CompletableFuture<CoreNLPAnnotation> annotateAsync(String text, String lang) {
+        String properties = profiles.get(lang).getProperties();
+
+        if (mode != CoreNLPClientModeEnum.REACTIVE) {
+            try {
+                return CompletableFuture.completedFuture(annotateWith(text, properties));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        try {
+            // attente d'un créneau sur le thread appelant (contre-pression)
+            acquire();
+        } catch (CoreNLPServerException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long start = System.nanoTime();
+
+        return call(text, properties)
+                .doOnSuccess(response -> onSuccess(start))
+                .doOnError(e -> onFailure())
+                .doOnCancel(this::onCancel)
+                .toFuture();
+    }
+
+    /**
+     * Appel non bloquant, doublé vers un autre serveur si la réponse tarde
+     * (cf. CoreNLPHedgingPolicy).
+     *
+     * La première réponse est retenue et l'autre requête annulée. Un échec
+     * n'annule pas l'autre requête : l'appel n'échoue (avec l'erreur de la
+     * requête initiale) que si aucune des deux n'aboutit, ou si la requête
+     * initiale échoue alors que le budget de doublement est épuisé. La durée
+     * d'une requête initiale annulée après le délai de doublement compte comme
+     * latence (percentile et moyenne du serveur).
+     */
+    private Mono<CoreNLPAnnotation> call(String text, String properties) {
+        CoreNLPEndpoint primary = loadBalancer.choose();
+
+        if (!hedgingPolicy.isEnabled()) {
+            return exchange(primary, text, properties, Long.MAX_VALUE);
+        }
+
+        hedgingPolicy.onRequest();
+
+        Duration delay = hedgingPolicy.delay();
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+
+        Mono<CoreNLPAnnotation> request = exchange(primary, text, properties, delay.toNanos())
+                .doOnError(primaryError::set);
+
+        // budget épuisé => pas de requête doublée (fin sans valeur)
+        Mono<CoreNLPAnnotation> hedge = Mono.delay(delay)
+                .flatMap(tick -> hedgingPolicy.tryAcquire()
+                        ? exchange(loadBalancer.choose(List.of(primary)), text, properties, Long.MAX_VALUE)
+                                .doOnSuccess(response -> hedgingPolicy.onHedgeWon())
+                        : Mono.<CoreNLPAnnotation>empty());
+
+        // aucune réponse => erreur de la requête initiale plutôt que l'erreur
+        // agrégée de firstWithValue
+        return Mono.firstWithValue(request, hedge)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> primaryError.get() != null ? primaryError.get() : e);
+    }
+
+    /**
+     * Appel non bloquant d'un serveur donné, comptabilisé par la répartition
+     * de charge (succès, échec ou abandon).
+     *
+     * @param slowCancelNanos : durée au-delà de laquelle un abandon compte
+     *                        comme latence
+     */
+    private Mono<CoreNLPAnnotation> exchange(CoreNLPEndpoint endpoint, String text, String properties,
+            long slowCancelNanos) {
+        long start = System.nanoTime();
+
+        // URL déjà encodée => pas de ré-encodage par le UriBuilder
+        Flux<DataBuffer> body = webClient.post()
+                .uri(URI.create(buildCoreNLPUrl(endpoint, properties)))
+                .contentType(TEXT_PLAIN_UTF8)
+                .bodyValue(text)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+
+        // tampons réseau regroupés (taille bornée) puis lus directement (pas de
+        // copie en String)
+        return DataBufferUtils.join(body, (int) maxResponseSize.toBytes())
+                .onErrorMap(DataBufferLimitException.class, e -> new CoreNLPServerException(
+                        "CoreNLP response exceeds " + maxResponseSize, e))
+                // corps vide => échec (même traitement d'erreur et de reprise)
+                .switchIfEmpty(Mono.error(() -> new CoreNLPServerException("Empty CoreNLP response")))
+                .map(buffer -> parse(buffer, text))
+                .doOnSuccess(response -> {
+                    long latency = System.nanoTime() - start;
+
+                    loadBalancer.onSuccess(endpoint, latency);
+                    hedgingPolicy.recordLatency(latency);
+                })
+                .doOnError(e -> loadBalancer.onFailure(endpoint, System.nanoTime() - start))
+                .doOnCancel(() -> onCancel(endpoint, System.nanoTime() - start, slowCancelNanos));
+    }
+
+    /**
+     * Lecture de la réponse depuis les tampons réseau (libérés à la fermeture
+     * du flux)
+     */
+    private CoreNLPAnnotation parse(DataBuffer buffer, String text) {
+        try (InputStream in = buffer.asInputStream(true)) {
+            return parse(in, text);
+        } catch (IOException e) {
+            throw new CoreNLPServerException("Error reading CoreNLP response", e);
+        }
+    }
+
+    /**
+     * Lecture de la réponse selon le format demandé
+     *
+     * @param text : texte envoyé (alignement des tokens au format conll)
+     */
+    private CoreNLPAnnotation parse(InputStream in, String text) {
+        return profiles.getOutputFormat() == CoreNLPOutputFormatEnum.CONLL
+                ? CoreNLPHelper.parseConll(in, text)
+                : CoreNLPHelper.parseAnnotation(in);
+    }
+
+    /**
+     * Attend que le disjoncteur et la limite de concurrence autorisent l'appel
+     */
+    private void acquire() {
+        try {
+            circuitBreaker.awaitPermission();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreNLPServerException("Interrupted while CoreNLP circuit breaker is open", e);
+        }
+
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onCancel();
+            throw new CoreNLPServerException("Interrupted while waiting for a CoreNLP call slot", e);
+        }
+    }
+
+    private void onSuccess(long start) {
+        limiter.onSuccess(System.nanoTime() - start);
+        circuitBreaker.onSuccess();
+    }
+
+    private void onFailure() {
+        limiter.onFailure();
+        circuitBreaker.onFailure();
+    }
+
+    private void onCancel() {
+        limiter.onCancel();
+        circuitBreaker.onCancel();
+    }
+
+    private void onCancel(CoreNLPEndpoint endpoint, long elapsed, long slowCancelNanos) {
+        if (elapsed < slowCancelNanos) {
+            loadBalancer.onCancel(endpoint);
+            return;
+        }
+
+        loadBalancer.onCancel(endpoint, elapsed);
+        hedgingPolicy.recordLatency(elapsed);
+    }
+
+    private static String buildCoreNLPUrl(CoreNLPEndpoint endpoint, String properties) {
+        return endpoint.getUrl() + "?properties=" + properties;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPConcurrencyLimiter
+ *
+ * Limite adaptative du nombre d'appels CoreNLP simultanés (AIMD).
+ *
+ * La limite augmente d'une unité après un appel rapide lorsque plus de la
+ * moitié de la limite est utilisée, et diminue (x backoff-ratio) après un échec
+ * ou un appel plus lent que slow-latency. Au-delà de la limite, les appelants
+ * attendent qu'un appel se termine ; la fin de chaque attente est signalée aux
+ * observateurs (cf. CoreNLPBackpressure).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPConcurrencyLimiter {
+
+    @Value("${coreNLP.max-concurrent-calls:16}")
+    private int initialLimit;
+
+    @Value("${coreNLP.limiter.min-limit:1}")
+    private int minLimit;
+
+    @Value("${coreNLP.limiter.max-limit:64}")
+    private int maxLimit;
+
+    @Value("${coreNLP.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${coreNLP.limiter.slow-latency:10s}")
+    private Duration slowLatency;
+
+    private final MeterRegistry meterRegistry;
+
+    private final List<Runnable> waitingListeners = new CopyOnWriteArrayList<>();
+
+    private double limit;
+
+    private int inFlight;
+
+    private int waiting;
+
+    @PostConstruct
+    public void init() {
+        minLimit = Math.max(1, minLimit);
+        maxLimit = Math.max(minLimit, maxLimit);
+        limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+
+        Gauge.builder("keywords.corenlp.limit", this, CoreNLPConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of simultaneous CoreNLP calls")
+                .register(meterRegistry);
+        Gauge.builder("keywords.corenlp.calls.active", this, CoreNLPConcurrencyLimiter::getInFlight)
+                .description("CoreNLP calls in progress")
+                .register(meterRegistry);
+        Gauge.builder("keywords.corenlp.calls.waiting", this, CoreNLPConcurrencyLimiter::getWaiting)
+                .description("Threads waiting for a CoreNLP call slot")
+                .register(meterRegistry);
+
+        log.info("CoreNLPConcurrencyLimiter initialized with limit {} (min {}, max {})", (int) limit, minLimit,
+                maxLimit);
+    }
+
+    /**
+     * @param listener : appelé quand le nombre d'appelants en attente diminue,
+     *                 sous le verrou de la limite (ne doit pas l'attendre)
+     */
+    public void addWaitingListener(Runnable listener) {
+        waitingListeners.add(listener);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * Attend qu'un appel soit autorisé par la limite courante
+     */
+    public synchronized void acquire() throws InterruptedException {
+        waiting++;
+
+        try {
+            while (inFlight >= (int) limit) {
+                wait();
+            }
+        } finally {
+            waiting--;
+
+            waitingListeners.forEach(Runnable::run);
+        }
+
+        inFlight++;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+
+        if (latencyNanos > slowLatency.toNanos()) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit && limit < maxLimit) {
+            limit++;
+        }
+
+        notifyAll();
+    }
+
+    public synchronized void onFailure() {
+        inFlight--;
+
+        decrease();
+
+        notifyAll();
+    }
+
+    /**
+     * Appel abandonné : libère la place sans ajuster la limite
+     */
+    public synchronized void onCancel() {
+        inFlight--;
+
+        notifyAll();
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * CoreNLPEndpoint
+ *
+ * Etat d'un serveur CoreNLP pour la répartition de charge : requêtes en cours,
+ * latence moyenne (EWMA), échecs consécutifs et éjection temporaire.
+ *
+ * Métriques exposées (tag endpoint) :
+ * - keywords.corenlp.endpoint.requests {outcome=success|error} : latence
+ * - keywords.corenlp.endpoint.outstanding : requêtes en cours
+ * - keywords.corenlp.endpoint.latency.ewma : latence moyenne (ms)
+ * - keywords.corenlp.endpoint.available : 1 si le serveur reçoit du trafic
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+public class CoreNLPEndpoint {
+
+    // poids de la dernière mesure dans la moyenne
+    private static final double EWMA_ALPHA = 0.3;
+
+    // latence supposée d'un serveur sans mesure (1 ms)
+    private static final double DEFAULT_LATENCY_NANOS = 1_000_000d;
+
+    private final String url;
+
+    private final Timer successTimer;
+
+    private final Timer errorTimer;
+
+    private int outstanding;
+
+    private double ewmaNanos;
+
+    private int consecutiveFailures;
+
+    private boolean ejected;
+
+    private long ejectedUntil;
+
+    // éjection due uniquement à la sonde de santé (réintégration par la sonde)
+    private boolean ejectedByProbe;
+
+    public CoreNLPEndpoint(String url, MeterRegistry meterRegistry) {
+        this.url = url.endsWith("/") ? url : url + "/";
+
+        successTimer = Timer.builder("keywords.corenlp.endpoint.requests")
+                .description("CoreNLP requests per endpoint")
+                .tag("endpoint", this.url)
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        errorTimer = Timer.builder("keywords.corenlp.endpoint.requests")
+                .description("CoreNLP requests per endpoint")
+                .tag("endpoint", this.url)
+                .tag("outcome", "error")
+                .register(meterRegistry);
+
+        Gauge.builder("keywords.corenlp.endpoint.outstanding", this, CoreNLPEndpoint::getOutstanding)
+                .description("CoreNLP requests in progress per endpoint")
+                .tag("endpoint", this.url)
+                .register(meterRegistry);
+        Gauge.builder("keywords.corenlp.endpoint.latency.ewma", this, e -> e.getEwmaNanos() / 1_000_000d)
+                .description("Moving average of the CoreNLP latency per endpoint (ms)")
+                .tag("endpoint", this.url)
+                .register(meterRegistry);
+        Gauge.builder("keywords.corenlp.endpoint.available", this, e -> e.isEjected(System.nanoTime()) ? 0d : 1d)
+                .description("1 if the CoreNLP endpoint receives traffic, 0 if it is ejected")
+                .tag("endpoint", this.url)
+                .register(meterRegistry);
+    }
+
+    /**
+     * URL de base du serveur (terminée par '/')
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    public synchronized int getOutstanding() {
+        return outstanding;
+    }
+
+    public synchronized double getEwmaNanos() {
+        return ewmaNanos;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Coût estimé d'une nouvelle requête : latence moyenne x (requêtes en cours
+     * + 1)
+     */
+    public synchronized double score() {
+        double latency = ewmaNanos > 0 ? ewmaNanos : DEFAULT_LATENCY_NANOS;
+
+        return latency * (outstanding + 1);
+    }
+
+    synchronized void start() {
+        outstanding++;
+    }
+
+    synchronized void recordSuccess(long latencyNanos) {
+        outstanding--;
+        consecutiveFailures = 0;
+        updateEwma(latencyNanos);
+
+        successTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized void recordFailure(long latencyNanos) {
+        outstanding--;
+        consecutiveFailures++;
+
+        errorTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Requête abandonnée (réponse plus utile) : ni succès ni échec
+     */
+    synchronized void recordCancel() {
+        outstanding--;
+    }
+
+    /**
+     * Requête abandonnée après elapsedNanos (battue par une requête doublée) :
+     * cette durée, borne basse de sa latence, entre dans la moyenne
+     */
+    synchronized void recordCancel(long elapsedNanos) {
+        outstanding--;
+        updateEwma(elapsedNanos);
+    }
+
+    private void updateEwma(long latencyNanos) {
+        ewmaNanos = ewmaNanos > 0 ? EWMA_ALPHA * latencyNanos + (1 - EWMA_ALPHA) * ewmaNanos : latencyNanos;
+    }
+
+    /**
+     * @return true si le serveur est éjecté à l'instant donné (la fin de
+     *         l'éjection le réintègre)
+     */
+    public synchronized boolean isEjected(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            reinstate(0d);
+        }
+
+        return ejected;
+    }
+
+    /**
+     * @return true si le serveur n'est éjecté que par la sonde de santé
+     */
+    public synchronized boolean isEjectedByProbe() {
+        return ejected && ejectedByProbe;
+    }
+
+    /**
+     * @param byProbe : true => éjection demandée par la sonde de santé
+     */
+    synchronized void eject(long now, long durationNanos, boolean byProbe) {
+        ejectedByProbe = ejected ? ejectedByProbe && byProbe : byProbe;
+        ejected = true;
+        ejectedUntil = now + durationNanos;
+    }
+
+    /**
+     * Réintègre le serveur : les échecs passés ne le pénalisent plus.
+     *
+     * @param seedNanos : latence moyenne de départ (0 => latence moyenne
+     *                  précédente conservée)
+     */
+    synchronized void reinstate(double seedNanos) {
+        ejected = false;
+        ejectedByProbe = false;
+        consecutiveFailures = 0;
+
+        if (seedNanos > 0) {
+            ewmaNanos = seedNanos;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
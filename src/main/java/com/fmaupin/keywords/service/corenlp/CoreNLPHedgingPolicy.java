@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPHedgingPolicy
+ *
+ * Politique de doublement des requêtes CoreNLP (hedging) : sans réponse après
+ * un délai égal au percentile configuré de la latence récente, une seconde
+ * requête est envoyée à un autre serveur et la première réponse est retenue.
+ *
+ * Le nombre de requêtes doublées est plafonné par un budget : chaque requête
+ * crédite `budget` jeton (0.05 => au plus 5 % de requêtes supplémentaires),
+ * chaque doublement en consomme un.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPHedgingPolicy {
+
+    private static final String HEDGING_METRIC = "keywords.corenlp.hedging";
+
+    // jetons accumulables : limite les rafales de doublements
+    private static final double MAX_TOKENS = 10d;
+
+    // fréquence de recalcul du délai
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Value("${coreNLP.hedging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${coreNLP.hedging.percentile:0.95}")
+    private double percentile;
+
+    @Value("${coreNLP.hedging.min-delay:50ms}")
+    private Duration minDelay;
+
+    @Value("${coreNLP.hedging.max-delay:5s}")
+    private Duration maxDelay;
+
+    @Value("${coreNLP.hedging.budget:0.05}")
+    private double budget;
+
+    private final CoreNLPLoadBalancer loadBalancer;
+
+    private final MeterRegistry meterRegistry;
+
+    private Timer latency;
+
+    private Counter sent;
+
+    private Counter denied;
+
+    private Counter won;
+
+    private double tokens;
+
+    private Duration delay;
+
+    private long delayComputedAt;
+
+    @PostConstruct
+    public void init() {
+        latency = Timer.builder("keywords.corenlp.latency")
+                .description("CoreNLP response time used to compute the hedging delay")
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+
+        sent = Counter.builder(HEDGING_METRIC)
+                .description("Hedged CoreNLP requests")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        denied = Counter.builder(HEDGING_METRIC)
+                .description("Hedged CoreNLP requests refused by the budget")
+                .tag("result", "denied")
+                .register(meterRegistry);
+        won = Counter.builder(HEDGING_METRIC)
+                .description("Hedged CoreNLP requests answered before the original request")
+                .tag("result", "won")
+                .register(meterRegistry);
+
+        if (enabled && loadBalancer.getEndpoints().size() < 2) {
+            log.warn("CoreNLP hedging needs at least two endpoints (coreNLP.urls), hedging disabled");
+        }
+    }
+
+    /**
+     * @return true si les requêtes doivent être doublées
+     */
+    public boolean isEnabled() {
+        return enabled && loadBalancer.getEndpoints().size() > 1;
+    }
+
+    public void recordLatency(long latencyNanos) {
+        latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Délai avant doublement : percentile de la latence récente, borné par
+     * min-delay et max-delay (max-delay tant qu'aucune latence n'est connue).
+     */
+    public synchronized Duration delay() {
+        long now = System.nanoTime();
+
+        if (delay == null || now - delayComputedAt >= DELAY_REFRESH_NANOS) {
+            delay = computeDelay();
+            delayComputedAt = now;
+        }
+
+        return delay;
+    }
+
+    /**
+     * Crédite le budget d'une requête
+     */
+    public synchronized void onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + budget);
+    }
+
+    /**
+     * @return true si le budget autorise un doublement (le jeton est consommé)
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            sent.increment();
+            return true;
+        }
+
+        denied.increment();
+        return false;
+    }
+
+    public void onHedgeWon() {
+        won.increment();
+    }
+
+    private Duration computeDelay() {
+        double nanos = 0d;
+
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            nanos = value.value(TimeUnit.NANOSECONDS);
+        }
+
+        if (nanos <= 0d) {
+            return maxDelay;
+        }
+
+        Duration computed = Duration.ofNanos((long) nanos);
+
+        if (computed.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+
+        return computed.compareTo(maxDelay) > 0 ? maxDelay : computed;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPLoadBalancer
+ *
+ * Répartition des appels entre plusieurs serveurs CoreNLP (`coreNLP.urls`).
+ *
+ * Chaque appel est routé vers le serveur de moindre coût estimé : latence
+ * moyenne (EWMA) x (requêtes en cours + 1). Un serveur est éjecté pendant
+ * `ejection-time` après `failure-threshold` échecs consécutifs, si sa latence
+ * moyenne dépasse `slow-threshold` ou si la sonde de santé (`/ready`) échoue.
+ * La sonde ne réintègre avant la fin de l'éjection que les serveurs qu'elle a
+ * elle-même éjectés, dès qu'ils répondent à nouveau, avec la latence moyenne
+ * médiane des autres serveurs.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPLoadBalancer {
+
+    private static final String HEALTH_PATH = "ready";
+
+    @Value("${coreNLP.urls:${coreNLP.url-base}}")
+    private List<String> urls;
+
+    @Value("${coreNLP.balancer.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${coreNLP.balancer.slow-threshold:20s}")
+    private Duration slowThreshold;
+
+    @Value("${coreNLP.balancer.ejection-time:30s}")
+    private Duration ejectionTime;
+
+    @Value("${coreNLP.balancer.health-check.interval:10s}")
+    private Duration healthCheckInterval;
+
+    @Value("${coreNLP.balancer.health-check.timeout:2s}")
+    private Duration healthCheckTimeout;
+
+    private final MeterRegistry meterRegistry;
+
+    private List<CoreNLPEndpoint> endpoints;
+
+    private RestTemplate probeTemplate;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        List<CoreNLPEndpoint> list = new ArrayList<>();
+
+        urls.stream()
+                .map(String::trim)
+                .filter(u -> !u.isEmpty())
+                .distinct()
+                .forEach(u -> list.add(new CoreNLPEndpoint(u, meterRegistry)));
+
+        if (list.isEmpty()) {
+            throw new IllegalStateException("No CoreNLP endpoint configured (coreNLP.urls)");
+        }
+
+        endpoints = Collections.unmodifiableList(list);
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(healthCheckTimeout);
+        requestFactory.setReadTimeout(healthCheckTimeout);
+        probeTemplate = new RestTemplate(requestFactory);
+
+        // sonde inutile avec un seul serveur : il reçoit le trafic dans tous les cas
+        if (endpoints.size() > 1 && !healthCheckInterval.isZero()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "corenlp-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            long interval = healthCheckInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::probe, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("CoreNLPLoadBalancer initialized with endpoints {}", endpoints);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public List<CoreNLPEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Choisit le serveur de moindre coût et lui attribue la requête.
+     *
+     * Les serveurs éjectés ne sont utilisés que si aucun autre n'est
+     * disponible.
+     *
+     * @param excluded : serveurs à éviter (déjà sollicités pour la même
+     *                 requête)
+     *
+     * @return serveur choisi (à libérer par onSuccess, onFailure ou onCancel)
+     */
+    public CoreNLPEndpoint choose(Collection<CoreNLPEndpoint> excluded) {
+        long now = System.nanoTime();
+
+        CoreNLPEndpoint best = null;
+        CoreNLPEndpoint fallback = null;
+
+        for (CoreNLPEndpoint endpoint : endpoints) {
+            if (excluded.contains(endpoint) && endpoints.size() > excluded.size()) {
+                continue;
+            }
+
+            if (!endpoint.isEjected(now)) {
+                best = cheapest(best, endpoint);
+            } else {
+                fallback = cheapest(fallback, endpoint);
+            }
+        }
+
+        CoreNLPEndpoint chosen = best != null ? best : fallback;
+
+        chosen.start();
+
+        return chosen;
+    }
+
+    public CoreNLPEndpoint choose() {
+        return choose(Collections.emptyList());
+    }
+
+    public void onSuccess(CoreNLPEndpoint endpoint, long latencyNanos) {
+        endpoint.recordSuccess(latencyNanos);
+
+        if (endpoint.getEwmaNanos() > slowThreshold.toNanos()) {
+            eject(endpoint, "average latency above " + slowThreshold, false);
+        }
+    }
+
+    public void onFailure(CoreNLPEndpoint endpoint, long latencyNanos) {
+        endpoint.recordFailure(latencyNanos);
+
+        if (endpoint.getConsecutiveFailures() >= failureThreshold) {
+            eject(endpoint, endpoint.getConsecutiveFailures() + " consecutive failures", false);
+        }
+    }
+
+    public void onCancel(CoreNLPEndpoint endpoint) {
+        endpoint.recordCancel();
+    }
+
+    /**
+     * Requête initiale abandonnée au profit d'une requête doublée : sa durée
+     * compte comme latence (un serveur lent n'est sinon jamais mesuré)
+     */
+    public void onCancel(CoreNLPEndpoint endpoint, long elapsedNanos) {
+        endpoint.recordCancel(elapsedNanos);
+
+        if (endpoint.getEwmaNanos() > slowThreshold.toNanos()) {
+            eject(endpoint, "average latency above " + slowThreshold, false);
+        }
+    }
+
+    /**
+     * Sonde de santé : éjecte les serveurs qui ne sont pas prêts, réintègre
+     * ceux qu'elle a éjectés et qui le sont de nouveau (un serveur éjecté pour
+     * sa lenteur ou ses échecs attend la fin de l'éjection).
+     */
+    public void probe() {
+        for (CoreNLPEndpoint endpoint : endpoints) {
+            boolean ejectedByProbe = endpoint.isEjected(System.nanoTime()) && endpoint.isEjectedByProbe();
+
+            try {
+                probeTemplate.getForEntity(endpoint.getUrl() + HEALTH_PATH, String.class);
+
+                if (ejectedByProbe) {
+                    endpoint.reinstate(peerLatency(endpoint));
+                    log.info("CoreNLP endpoint {} is ready again, reinstated", endpoint);
+                }
+            } catch (Exception e) {
+                eject(endpoint, "health check failed: " + e.getMessage(), true);
+            }
+        }
+    }
+
+    /**
+     * @return latence moyenne médiane des autres serveurs disponibles (0 si
+     *         aucune n'est connue)
+     */
+    private double peerLatency(CoreNLPEndpoint endpoint) {
+        long now = System.nanoTime();
+
+        double[] latencies = endpoints.stream()
+                .filter(e -> e != endpoint && !e.isEjected(now) && e.getEwmaNanos() > 0)
+                .mapToDouble(CoreNLPEndpoint::getEwmaNanos)
+                .sorted()
+                .toArray();
+
+        if (latencies.length == 0) {
+            return 0d;
+        }
+
+        int middle = latencies.length / 2;
+
+        return latencies.length % 2 == 1 ? latencies[middle] : (latencies[middle - 1] + latencies[middle]) / 2;
+    }
+
+    private void eject(CoreNLPEndpoint endpoint, String reason, boolean byProbe) {
+        long now = System.nanoTime();
+        boolean alreadyEjected = endpoint.isEjected(now);
+
+        endpoint.eject(now, ejectionTime.toNanos(), byProbe);
+
+        if (!alreadyEjected) {
+            log.warn("CoreNLP endpoint {} ejected for {}: {}", endpoint, ejectionTime, reason);
+        }
+    }
+
+    private static CoreNLPEndpoint cheapest(CoreNLPEndpoint current, CoreNLPEndpoint candidate) {
+        return (current == null || candidate.score() < current.score()) ? candidate : current;
+    }
+}
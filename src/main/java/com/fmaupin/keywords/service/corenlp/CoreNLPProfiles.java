@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.model.corenlp.CoreNLPProfile;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPProfiles
+ *
+ * Profils d'annotation CoreNLP par langue : annotateurs demandés et options
+ * (NER, ...), communs (`coreNLP.profile.annotators`, `coreNLP.profile.options`)
+ * et surchargeables par langue (`coreNLP.profile.<langue>.annotators`,
+ * `coreNLP.profile.<langue>.options`, options ajoutées aux options communes).
+ *
+ * Une ligne vide termine toujours la phrase en cours
+ * (`ssplit.newlineIsSentenceBreak=two`), que la requête porte un seul chunk ou
+ * plusieurs (cf. CoreNLPBatcher) : un chunk est segmenté de la même façon
+ * quel que soit le chemin, et l'option fait partie de la clé du cache
+ * d'annotations.
+ *
+ * Les propriétés CoreNLP (encodées pour l'URL) sont calculées au démarrage pour
+ * chaque langue détectable, à la première utilisation pour les autres.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPProfiles {
+
+    private static final String PROFILE_PREFIX = "coreNLP.profile.";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // ligne vide => fin de phrase (cf. CoreNLPBatcher.CHUNK_SEPARATOR)
+    private static final String SENTENCE_BREAK_OPTION = "ssplit.newlineIsSentenceBreak";
+
+    @Value("${coreNLP.profile.annotators:tokenize,ssplit,pos,lemma,ner}")
+    private List<String> annotators;
+
+    @Value("${coreNLP.profile.options:ner.buildEntityMentions=false}")
+    private List<String> options;
+
+    @Value("${keywords-poc.language-detection.languages:fr,en}")
+    private List<String> languages;
+
+    @Getter
+    @Value("${coreNLP.output-format:json}")
+    private CoreNLPOutputFormatEnum outputFormat;
+
+    private final Environment environment;
+
+    private final Map<String, CoreNLPProfile> profiles = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        languages.forEach(this::get);
+
+        log.info("CoreNLPProfiles initialized: {}", profiles.values());
+    }
+
+    /**
+     * @param lang : langue du texte
+     *
+     * @return profil d'annotation de la langue
+     */
+    public CoreNLPProfile get(String lang) {
+        return profiles.computeIfAbsent(lang, this::build);
+    }
+
+    private CoreNLPProfile build(String lang) {
+        String prefix = PROFILE_PREFIX + lang + ".";
+
+        List<String> langAnnotators = split(environment.getProperty(prefix + "annotators"));
+
+        if (langAnnotators.isEmpty()) {
+            langAnnotators = List.copyOf(annotators);
+        }
+
+        Map<String, String> langOptions = new LinkedHashMap<>(parseOptions(options));
+        langOptions.putAll(parseOptions(split(environment.getProperty(prefix + "options"))));
+        langOptions.put(SENTENCE_BREAK_OPTION, "two");
+
+        return new CoreNLPProfile(lang, langAnnotators, Collections.unmodifiableMap(langOptions),
+                encode(lang, langAnnotators, langOptions));
+    }
+
+    /**
+     * Propriétés CoreNLP encodées pour l'URL
+     */
+    private String encode(String lang, List<String> langAnnotators, Map<String, String> langOptions) {
+        Map<String, String> properties = new LinkedHashMap<>();
+
+        properties.put("annotators", String.join(",", langAnnotators));
+
+        if (outputFormat == CoreNLPOutputFormatEnum.CONLL) {
+            properties.put("outputFormat", "conll");
+            properties.put("output.columns", "word,pos,ner");
+        } else {
+            properties.put("outputFormat", "json");
+        }
+
+        properties.put("tokenize.language", lang);
+        properties.putAll(langOptions);
+
+        try {
+            return URLEncoder.encode(MAPPER.writeValueAsString(properties), StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid CoreNLP properties for language " + lang, e);
+        }
+    }
+
+    private static List<String> split(String value) {
+        if (value == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @param entries : options `clé=valeur`
+     */
+    private static Map<String, String> parseOptions(List<String> entries) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            int separator = entry.indexOf('=');
+
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid CoreNLP option (key=value expected): " + entry);
+            }
+
+            parsed.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+
+        return parsed;
+    }
+}
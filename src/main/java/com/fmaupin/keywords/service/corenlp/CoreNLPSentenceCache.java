@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.helper.BoundedCache;
+import com.fmaupin.keywords.helper.CoreNLPAnnotationHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPSentenceCache
+ *
+ * Annotation phrase par phrase avec cache des phrases déjà annotées
+ * (avertissements, signatures, en-têtes de tableaux, ...) : le chunk est
+ * découpé localement en phrases, seules les phrases absentes du cache sont
+ * envoyées à CoreNLP, puis les réponses sont recomposées en celle du chunk
+ * complet (cf. CoreNLPAnnotationHelper.merge).
+ *
+ * Les phrases envoyées respectent la taille maximum des requêtes et le
+ * regroupement des chunks (cf. CoreNLPSplitter.annotatePassages).
+ *
+ * La clé d'une phrase est son texte exact (hors espaces de début et de fin)
+ * et sa langue : les positions des tokens restent valables d'un chunk à
+ * l'autre.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPSentenceCache {
+
+    private static final String CACHE_METRIC = "keywords.corenlp.sentence.cache";
+
+    // empreinte mémoire approximative d'une entrée, d'une phrase et d'un token
+    private static final long ENTRY_OVERHEAD = 200L;
+
+    private static final long SENTENCE_OVERHEAD = 64L;
+
+    private static final long TOKEN_OVERHEAD = 64L;
+
+    @Value("${coreNLP.sentence-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${coreNLP.sentence-cache.max-memory:32MB}")
+    private DataSize maxMemory;
+
+    @Value("${coreNLP.sentence-cache.ttl:24h}")
+    private Duration ttl;
+
+    private final CoreNLPSplitter coreNLPSplitter;
+
+    private final MeterRegistry meterRegistry;
+
+    // langue + texte de la phrase -> réponse CoreNLP de la phrase seule
+    private BoundedCache<String, CoreNLPAnnotation> cache;
+
+    private Counter savedChars;
+
+    private Counter sentChars;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxMemory.toBytes(), ttl, CoreNLPSentenceCache::weigh);
+
+        FunctionCounter.builder(CACHE_METRIC, cache, BoundedCache::hitCount)
+                .description("Sentences whose annotation was taken from the sentence cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_METRIC, cache, BoundedCache::missCount)
+                .description("Sentences sent to CoreNLP")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_METRIC + ".evictions", cache, BoundedCache::evictionCount)
+                .description("Entries evicted from the sentence cache")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".memory", cache, BoundedCache::weight)
+                .description("Estimated memory used by the cached sentence annotations")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        savedChars = Counter.builder(CACHE_METRIC + ".chars")
+                .description("Characters of chunk text not sent to CoreNLP thanks to the sentence cache")
+                .tag("result", "saved")
+                .register(meterRegistry);
+        sentChars = Counter.builder(CACHE_METRIC + ".chars")
+                .description("Characters of chunk text sent to CoreNLP by sentence")
+                .tag("result", "sent")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("CoreNLPSentenceCache initialized (max memory {}, ttl {})", maxMemory, ttl);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Annote un texte phrase par phrase
+     *
+     * @param text : texte à annoter
+     * @param lang : langue du texte
+     *
+     * @return réponse de CoreNLP pour le texte complet
+     */
+    public CompletableFuture<CoreNLPAnnotation> annotate(String text, String lang) {
+        // une phrase par bloc
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, lang, 0);
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<CoreNLPAnnotation> annotations = new ArrayList<>();
+
+        List<Integer> missed = new ArrayList<>();
+        List<String> passages = new ArrayList<>();
+
+        int blockStart = 0;
+
+        for (String block : blocks) {
+            String sentence = block.strip();
+
+            if (!sentence.isEmpty()) {
+                String key = lang + '\u0000' + sentence;
+                CoreNLPAnnotation cached = cache.get(key);
+
+                keys.add(key);
+                starts.add(blockStart + block.indexOf(sentence));
+                annotations.add(cached);
+
+                if (cached != null) {
+                    savedChars.increment(sentence.length());
+                } else {
+                    missed.add(annotations.size() - 1);
+                    passages.add(sentence);
+
+                    sentChars.increment(sentence.length());
+                }
+            }
+
+            blockStart += block.length();
+        }
+
+        int[] offsets = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        if (missed.isEmpty()) {
+            return CompletableFuture.completedFuture(CoreNLPAnnotationHelper.merge(annotations, offsets));
+        }
+
+        return coreNLPSplitter.annotatePassages(passages, lang).thenApply(fresh -> {
+            for (int i = 0; i < missed.size(); i++) {
+                int index = missed.get(i);
+
+                annotations.set(index, fresh.get(i));
+                cache.put(keys.get(index), fresh.get(i));
+            }
+
+            return CoreNLPAnnotationHelper.merge(annotations, offsets);
+        });
+    }
+
+    private static long weigh(String key, CoreNLPAnnotation annotation) {
+        long weight = ENTRY_OVERHEAD + 2L * key.length();
+
+        for (CoreNLPSentence sentence : annotation.getSentences()) {
+            weight += SENTENCE_OVERHEAD;
+
+            for (CoreNLPToken token : sentence.getTokens()) {
+                // étiquettes pos et ner partagées
+                weight += TOKEN_OVERHEAD + 2L * token.getWord().length();
+            }
+        }
+
+        return weight;
+    }
+}
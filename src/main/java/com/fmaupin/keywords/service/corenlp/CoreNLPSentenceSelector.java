@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.corenlp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.CoreNLPAnnotationHelper;
+import com.fmaupin.keywords.helper.EntityCandidateScanner;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPSentenceSelector
+ *
+ * Annotation des seules phrases candidates d'un chunk : le chunk est découpé
+ * localement en phrases, seules les phrases contenant un candidat à une entité
+ * (cf. EntityCandidateScanner), ainsi que `context-window` phrases de part et
+ * d'autre, sont envoyées à CoreNLP, en respectant la taille maximum des
+ * requêtes et le regroupement des chunks (cf.
+ * CoreNLPSplitter.annotatePassages).
+ *
+ * Les positions des phrases sont recalées sur le chunk et la réponse porte le
+ * texte complet du chunk (recherche des régions, cf. GeoRegionPostProcessor).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CoreNLPSentenceSelector {
+
+    private static final String SELECTOR_METRIC = "keywords.corenlp.sentence.selector";
+
+    @Value("${coreNLP.candidate-sentences.enabled:false}")
+    private boolean enabled;
+
+    @Value("${coreNLP.candidate-sentences.context-window:0}")
+    private int contextWindow;
+
+    private final CoreNLPSplitter coreNLPSplitter;
+
+    private final MeterRegistry meterRegistry;
+
+    private Counter sentSentences;
+
+    private Counter droppedSentences;
+
+    @PostConstruct
+    public void init() {
+        sentSentences = Counter.builder(SELECTOR_METRIC)
+                .description("Sentences sent to CoreNLP (entity candidates and their context)")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        droppedSentences = Counter.builder(SELECTOR_METRIC)
+                .description("Sentences without entity candidate not sent to CoreNLP")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("CoreNLPSentenceSelector initialized (context window {})", contextWindow);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Annote les phrases candidates d'un texte
+     *
+     * @param text : texte à annoter
+     * @param lang : langue du texte
+     *
+     * @return réponse de CoreNLP pour les phrases candidates, positions
+     *         relatives au texte complet
+     */
+    public CompletableFuture<CoreNLPAnnotation> annotate(String text, String lang) {
+        // une phrase par bloc
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, lang, 0);
+
+        boolean[] selected = select(blocks, lang);
+
+        // passages : phrases sélectionnées contiguës
+        List<String> passages = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+
+        int blockStart = 0;
+        int passageStart = -1;
+        int sent = 0;
+
+        for (int i = 0; i <= blocks.size(); i++) {
+            if (i < blocks.size() && selected[i]) {
+                sent++;
+
+                if (passageStart < 0) {
+                    passageStart = blockStart;
+                }
+            } else if (passageStart >= 0) {
+                // espaces de fin de passage inutiles à CoreNLP
+                passages.add(text.substring(passageStart, blockStart).stripTrailing());
+                starts.add(passageStart);
+                passageStart = -1;
+            }
+
+            if (i < blocks.size()) {
+                blockStart += blocks.get(i).length();
+            }
+        }
+
+        sentSentences.increment(sent);
+        droppedSentences.increment((double) blocks.size() - sent);
+
+        if (sent == blocks.size()) {
+            // chunk complet : même requête que sans sélection
+            return coreNLPSplitter.annotatePassages(List.of(text), lang).thenApply(responses -> responses.get(0));
+        }
+
+        if (passages.isEmpty()) {
+            return CompletableFuture.completedFuture(new CoreNLPAnnotation(text, List.of()));
+        }
+
+        int[] offsets = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        return coreNLPSplitter.annotatePassages(passages, lang).thenApply(responses -> new CoreNLPAnnotation(text,
+                CoreNLPAnnotationHelper.merge(responses, offsets).getSentences()));
+    }
+
+    /**
+     * @return phrases contenant un candidat, élargies de `context-window`
+     *         phrases
+     */
+    private boolean[] select(List<String> blocks, String lang) {
+        boolean[] selected = new boolean[blocks.size()];
+
+        for (int i = 0; i < blocks.size(); i++) {
+            if (EntityCandidateScanner.countCandidates(blocks.get(i), lang, 1) > 0) {
+                int from = Math.max(0, i - contextWindow);
+                int to = Math.min(blocks.size() - 1, i + contextWindow);
+
+                for (int j = from; j <= to; j++) {
+                    selected[j] = true;
+                }
+            }
+        }
+
+        return selected;
+    }
+}
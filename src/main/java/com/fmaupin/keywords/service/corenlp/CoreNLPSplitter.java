@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service.corenlp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.CoreNLPAnnotationHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPSplitter
+ *
+ * Annotation des chunks volumineux (plus de `max-chars` caractères) : le texte
+ * est découpé en blocs de phrases entières annotés en parallèle (éventuellement
+ * par des serveurs CoreNLP différents), puis les réponses sont regroupées en
+ * une seule, identique à celle d'une requête unique (cf.
+ * CoreNLPAnnotationHelper.merge).
+ *
+ * Les passages d'un chunk annotés séparément (phrases absentes du cache, cf.
+ * CoreNLPSentenceCache) sont regroupés en requêtes d'au plus `max-chars`
+ * caractères, transmises au lot de leur langue si le regroupement est activé
+ * (cf. CoreNLPBatcher).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+public class CoreNLPSplitter {
+
+    // 0 => pas de découpage
+    @Value("${coreNLP.split.max-chars:0}")
+    private int maxChars;
+
+    private final CoreNLPClient coreNLPClient;
+
+    private final CoreNLPBatcher coreNLPBatcher;
+
+    private final ExecutorService annotateExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary parts;
+
+    public CoreNLPSplitter(CoreNLPClient coreNLPClient, CoreNLPBatcher coreNLPBatcher,
+            @Qualifier("annotateExecutor") ExecutorService annotateExecutor, MeterRegistry meterRegistry) {
+        this.coreNLPClient = coreNLPClient;
+        this.coreNLPBatcher = coreNLPBatcher;
+        this.annotateExecutor = annotateExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        parts = DistributionSummary.builder("keywords.corenlp.split.parts")
+                .description("Number of CoreNLP requests an oversized chunk is split into")
+                .register(meterRegistry);
+
+        if (maxChars > 0) {
+            log.info("CoreNLPSplitter initialized (max chars {})", maxChars);
+        }
+    }
+
+    /**
+     * @return true si le texte doit être découpé
+     */
+    public boolean isOversized(String text) {
+        return maxChars > 0 && text != null && text.length() > maxChars;
+    }
+
+    /**
+     * Annote un texte volumineux par blocs de phrases
+     *
+     * @param text : texte à annoter
+     * @param lang : langue du texte
+     *
+     * @return réponse de CoreNLP pour le texte complet (en échec si l'un
+     *         des appels échoue)
+     */
+    public CompletableFuture<CoreNLPAnnotation> annotate(String text, String lang) {
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, lang, maxChars);
+
+        parts.record(blocks.size());
+
+        if (blocks.size() == 1) {
+            // une seule phrase plus longue que max-chars
+            return coreNLPClient.annotateAsync(text, lang);
+        }
+
+        List<CompletableFuture<CoreNLPAnnotation>> responses = new ArrayList<>(blocks.size());
+        int[] starts = new int[blocks.size()];
+        int start = 0;
+
+        for (int i = 0; i < blocks.size(); i++) {
+            String block = blocks.get(i);
+
+            starts[i] = start;
+            start += block.length();
+
+            // un thread par bloc en mode blocking, appels simultanés en mode reactive
+            responses.add(CompletableFuture
+                    .supplyAsync(() -> coreNLPClient.annotateAsync(block, lang), annotateExecutor)
+                    .thenCompose(response -> response));
+        }
+
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .thenApply(done -> CoreNLPAnnotationHelper.merge(
+                        responses.stream().map(CompletableFuture::join).toList(), starts));
+    }
+
+    /**
+     * Annote des passages indépendants d'un texte : passages regroupés (une
+     * ligne vide les sépare) en requêtes d'au plus `max-chars` caractères,
+     * passage volumineux découpé en blocs de phrases.
+     *
+     * @param passages : passages à annoter
+     * @param lang     : langue des passages
+     *
+     * @return réponse de chaque passage (positions relatives au passage, en
+     *         échec si l'un des appels échoue)
+     */
+    public CompletableFuture<List<CoreNLPAnnotation>> annotatePassages(List<String> passages, String lang) {
+        List<Supplier<CompletableFuture<List<CoreNLPAnnotation>>>> requests = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        int groupChars = 0;
+
+        for (String passage : passages) {
+            if (isOversized(passage)) {
+                addGroup(group, lang, requests);
+
+                requests.add(() -> annotate(passage, lang).thenApply(List::of));
+                continue;
+            }
+
+            int separated = groupChars + CoreNLPBatcher.CHUNK_SEPARATOR.length() + passage.length();
+
+            if (!group.isEmpty() && maxChars > 0 && separated > maxChars) {
+                addGroup(group, lang, requests);
+            }
+
+            groupChars = group.isEmpty() ? passage.length() : separated;
+            group.add(passage);
+        }
+
+        addGroup(group, lang, requests);
+
+        if (requests.size() == 1) {
+            return requests.get(0).get();
+        }
+
+        // un thread par requête en mode blocking, appels simultanés en mode reactive
+        List<CompletableFuture<List<CoreNLPAnnotation>>> responses = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(request, annotateExecutor)
+                        .thenCompose(response -> response))
+                .toList();
+
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .thenApply(done -> responses.stream()
+                        .flatMap(response -> response.join().stream())
+                        .toList());
+    }
+
+    /**
+     * Ajoute la requête d'un groupe de passages (le groupe est vidé)
+     */
+    private void addGroup(List<String> group, String lang,
+            List<Supplier<CompletableFuture<List<CoreNLPAnnotation>>>> requests) {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        StringBuilder text = new StringBuilder();
+        int[] starts = new int[group.size()];
+
+        for (int i = 0; i < group.size(); i++) {
+            if (i > 0) {
+                text.append(CoreNLPBatcher.CHUNK_SEPARATOR);
+            }
+
+            starts[i] = text.length();
+            text.append(group.get(i));
+        }
+
+        // une ligne vide termine toujours la phrase : aucune phrase ne
+        // chevauche deux passages
+        boolean several = group.size() > 1;
+        String request = text.toString();
+
+        group.clear();
+
+        requests.add(() -> send(request, lang)
+                .thenApply(response -> several ? CoreNLPAnnotationHelper.split(response, starts)
+                        : List.of(response)));
+    }
+
+    private CompletableFuture<CoreNLPAnnotation> send(String text, String lang) {
+        if (coreNLPBatcher.isEnabled()) {
+            return coreNLPBatcher.submit(text, lang);
+        }
+
+        return coreNLPClient.annotateAsync(text, lang);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.logic;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.enumeration.AnnotationModeEnum;
+import com.fmaupin.keywords.helper.BoundedCache;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPProfile;
+import com.fmaupin.keywords.service.corenlp.CoreNLPProfiles;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AnnotationCacheService
+ *
+ * Cache des entités extraites par chunk : un texte déjà annoté (mentions
+ * légales, en-têtes, documents re-déposés, ...) ne repasse pas par CoreNLP.
+ *
+ * La clé est l'empreinte SHA-256 du texte normalisé (Unicode NFC, fins de
+ * ligne, espaces horizontaux répétés), de la langue, du profil d'annotation
+ * (annotateurs et options, cf. CoreNLPProfiles), du mode d'annotation
+ * (complète ou partielle, cf. AnnotationModeEnum) et du format de réponse de
+ * CoreNLP. Le cache est un LRU borné par la mémoire estimée des entités (cf.
+ * BoundedCache).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AnnotationCacheService {
+
+    private static final String CACHE_METRIC = "keywords.annotation.cache";
+
+    private static final Pattern HORIZONTAL_SPACES = Pattern.compile("\\h+");
+
+    private static final Pattern LINE_ENDINGS = Pattern.compile("\\r\\n?");
+
+    // empreinte mémoire approximative d'une entrée, d'une liste et d'une chaîne
+    private static final long ENTRY_OVERHEAD = 200L;
+
+    private static final long LIST_OVERHEAD = 64L;
+
+    private static final long STRING_OVERHEAD = 48L;
+
+    private static final long KEY_OVERHEAD = 64L;
+
+    @Value("${keywords-poc.annotation-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${keywords-poc.annotation-cache.max-memory:64MB}")
+    private DataSize maxMemory;
+
+    @Value("${keywords-poc.annotation-cache.ttl:24h}")
+    private Duration ttl;
+
+    private final CoreNLPProfiles profiles;
+
+    private final MeterRegistry meterRegistry;
+
+    private BoundedCache<ContentKey, Map<String, List<String>>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedCache<>(maxMemory.toBytes(), ttl, AnnotationCacheService::weigh);
+
+        FunctionCounter.builder(CACHE_METRIC, cache, BoundedCache::hitCount)
+                .description("Chunks whose entities were taken from the annotation cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_METRIC, cache, BoundedCache::missCount)
+                .description("Chunks that had to be annotated by CoreNLP")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_METRIC + ".evictions", cache, BoundedCache::evictionCount)
+                .description("Entries evicted from the annotation cache")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".hit.ratio", this, AnnotationCacheService::hitRatio)
+                .description("Share of chunks served by the annotation cache")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".size", cache, BoundedCache::size)
+                .description("Chunks whose entities are cached")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".memory", cache, BoundedCache::weight)
+                .description("Estimated memory used by the cached entities")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        log.info("AnnotationCacheService initialized (enabled: {}, max memory {}, ttl {})", enabled, maxMemory,
+                ttl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param text : texte du chunk
+     * @param lang : langue du chunk
+     * @param mode : manière dont le chunk est annoté (annotation complète ou
+     *             partielle)
+     *
+     * @return clé du chunk (cache des entités, cf. CoreNLPAnnotationStore)
+     */
+    public ContentKey key(String text, String lang, AnnotationModeEnum mode) {
+        if (text == null || lang == null || mode == null) {
+            return null;
+        }
+
+        CoreNLPProfile profile = profiles.get(lang);
+
+        MessageDigest digest = sha256();
+
+        digest.update((lang + '\u0000' + profile.getAnnotators() + '\u0000' + profile.getOptions() + '\u0000' + mode
+                + '\u0000' + profiles.getOutputFormat() + '\u0000').getBytes(StandardCharsets.UTF_8));
+        digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+
+        return new ContentKey(digest.digest());
+    }
+
+    /**
+     * @return entités déjà extraites pour la clé, ou null
+     */
+    public Map<String, List<String>> get(ContentKey key) {
+        return (!enabled || key == null) ? null : cache.get(key);
+    }
+
+    public void put(ContentKey key, Map<String, List<String>> entities) {
+        if (!enabled || key == null || entities == null) {
+            return;
+        }
+
+        // copie immuable : les entités sont partagées entre chunks identiques
+        cache.put(key, entities.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        e -> e.getValue().stream().filter(Objects::nonNull).toList())));
+    }
+
+    public double hitRatio() {
+        long hits = cache.hitCount();
+        long total = hits + cache.missCount();
+
+        return total == 0 ? 0d : (double) hits / total;
+    }
+
+    /**
+     * Normalisation du texte avant calcul de l'empreinte : les lignes vides
+     * sont conservées (séparation des phrases par CoreNLP)
+     */
+    static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+
+        normalized = LINE_ENDINGS.matcher(normalized).replaceAll("\n");
+        normalized = HORIZONTAL_SPACES.matcher(normalized).replaceAll(" ");
+
+        return normalized.strip();
+    }
+
+    private static long weigh(ContentKey key, Map<String, List<String>> entities) {
+        long weight = ENTRY_OVERHEAD + KEY_OVERHEAD;
+
+        for (Map.Entry<String, List<String>> entry : entities.entrySet()) {
+            weight += LIST_OVERHEAD + STRING_OVERHEAD + 2L * entry.getKey().length();
+
+            for (String value : entry.getValue()) {
+                weight += STRING_OVERHEAD + 2L * value.length();
+            }
+        }
+
+        return weight;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.logic;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AnnotationCoalescingService
+ *
+ * Regroupement des annotations simultanées d'un même texte (document déposé
+ * deux fois, chunks identiques reçus ensemble, ...) : tant qu'un appel CoreNLP
+ * est en cours pour une clé de chunk (cf. ContentKey), les chunks de même clé
+ * attendent sa réponse au lieu d'envoyer leur propre appel.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AnnotationCoalescingService {
+
+    private static final String COALESCING_METRIC = "keywords.annotation.coalescing";
+
+    @Value("${keywords-poc.annotation-coalescing.enabled:true}")
+    private boolean enabled;
+
+    private final MeterRegistry meterRegistry;
+
+    // appels en cours par clé de chunk
+    private final Map<ContentKey, CompletableFuture<CoreNLPAnnotation>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter saved;
+
+    @PostConstruct
+    public void init() {
+        saved = Counter.builder(COALESCING_METRIC + ".saved")
+                .description("CoreNLP calls saved by sharing an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder(COALESCING_METRIC + ".in.flight", inFlight, Map::size)
+                .description("Distinct chunk texts being annotated by CoreNLP")
+                .register(meterRegistry);
+
+        log.info("AnnotationCoalescingService initialized (enabled: {})", enabled);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param key  : clé du chunk (null => pas de regroupement)
+     * @param call : appel CoreNLP, exécuté seulement si aucun appel n'est en
+     *             cours pour la clé
+     *
+     * @return réponse de l'appel en cours pour la clé, ou de `call`
+     */
+    public CompletableFuture<CoreNLPAnnotation> coalesce(ContentKey key,
+            Supplier<CompletableFuture<CoreNLPAnnotation>> call) {
+        if (!enabled || key == null) {
+            return call.get();
+        }
+
+        CompletableFuture<CoreNLPAnnotation> shared = new CompletableFuture<>();
+        CompletableFuture<CoreNLPAnnotation> existing = inFlight.putIfAbsent(key, shared);
+
+        if (existing != null) {
+            saved.increment();
+
+            // copie : l'abandon d'un appelant n'affecte pas les autres
+            return existing.copy();
+        }
+
+        CompletableFuture<CoreNLPAnnotation> response;
+
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+
+        // retrait avant notification : un chunk arrivé ensuite relance un appel
+        response.whenComplete((annotation, ex) -> {
+            inFlight.remove(key, shared);
+
+            if (ex != null) {
+                shared.completeExceptionally(ex);
+            } else {
+                shared.complete(annotation);
+            }
+        });
+
+        return response;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.logic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.EntityCandidateScanner;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * EntityCandidateFilter
+ *
+ * Filtre des chunks sans entité possible (tableaux de nombres, code, texte en
+ * minuscules, ...) : un chunk comptant moins de `min-score` candidats (cf.
+ * EntityCandidateScanner) est enregistré sans mot clé, sans appel CoreNLP.
+ *
+ * Une part `sample-rate` des chunks filtrés est tout de même annotée pour
+ * mesurer la précision du filtre (part des chunks filtrés réellement sans
+ * entité).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EntityCandidateFilter {
+
+    private static final String FILTER_METRIC = "keywords.candidate.filter";
+
+    @Value("${keywords-poc.candidate-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${keywords-poc.candidate-filter.min-score:1}")
+    private int minScore;
+
+    @Value("${keywords-poc.candidate-filter.sample-rate:0.01}")
+    private double sampleRate;
+
+    private final MeterRegistry meterRegistry;
+
+    private Counter skipped;
+
+    private Counter kept;
+
+    private Counter confirmed;
+
+    private Counter missed;
+
+    @PostConstruct
+    public void init() {
+        skipped = Counter.builder(FILTER_METRIC)
+                .description("Chunks without entity candidate")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        kept = Counter.builder(FILTER_METRIC)
+                .description("Chunks with entity candidates")
+                .tag("result", "kept")
+                .register(meterRegistry);
+        confirmed = Counter.builder(FILTER_METRIC + ".sample")
+                .description("Sampled skipped chunks for which CoreNLP found no entity")
+                .tag("result", "confirmed")
+                .register(meterRegistry);
+        missed = Counter.builder(FILTER_METRIC + ".sample")
+                .description("Sampled skipped chunks for which CoreNLP found entities")
+                .tag("result", "missed")
+                .register(meterRegistry);
+        Gauge.builder(FILTER_METRIC + ".skip.ratio", this, EntityCandidateFilter::skipRatio)
+                .description("Share of chunks without entity candidate")
+                .register(meterRegistry);
+        Gauge.builder(FILTER_METRIC + ".precision", this, EntityCandidateFilter::precision)
+                .description("Share of sampled skipped chunks for which CoreNLP found no entity")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("EntityCandidateFilter initialized (min score {}, sample rate {})", minScore, sampleRate);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true si le texte ne contient pas assez de candidats à une entité
+     */
+    public boolean isWithoutCandidate(String text, String lang) {
+        if (!enabled || text == null) {
+            return false;
+        }
+
+        boolean without = EntityCandidateScanner.countCandidates(text, lang, minScore) < minScore;
+
+        (without ? skipped : kept).increment();
+
+        return without;
+    }
+
+    /**
+     * @return true si le chunk filtré doit tout de même être annoté (mesure de
+     *         la précision)
+     */
+    public boolean sample() {
+        return sampleRate > 0d && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * @param entities : entités extraites d'un chunk filtré annoté
+     */
+    public void recordSample(Map<String, List<String>> entities) {
+        boolean found = entities.values().stream().anyMatch(values -> !values.isEmpty());
+
+        (found ? missed : confirmed).increment();
+    }
+
+    public double skipRatio() {
+        double total = skipped.count() + kept.count();
+
+        return total == 0d ? 0d : skipped.count() / total;
+    }
+
+    public double precision() {
+        double total = confirmed.count() + missed.count();
+
+        return total == 0d ? 0d : confirmed.count() / total;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.BoundedCache;
+import com.fmaupin.keywords.helper.ResourceLoader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LanguageDetectionService
+ *
+ * Service de détection de la langue d'un texte.
+ *
+ * Les modèles Optimaize sont chargés une seule fois au démarrage, limités aux
+ * langues configurées. Un détecteur Tika conserve le texte analysé entre
+ * `addText` et `detect` : chaque thread emprunte donc une instance dans un pool
+ * de détecteurs préchargés.
+ *
+ * La langue d'un document est mémorisée à partir du premier chunk détecté avec
+ * certitude : les chunks suivants ne sont re-détectés que si un contrôle rapide
+ * (mots vides de chaque langue) indique une autre langue.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LanguageDetectionService {
+
+    // en dessous de cette longueur la détection n'est pas fiable
+    private static final int MIN_TEXT_LENGTH = 30;
+
+    // portion du texte analysée par le contrôle rapide
+    private static final int QUICK_CHECK_LENGTH = 500;
+
+    // nombre minimum de mots vides pour que le contrôle rapide soit concluant
+    private static final int QUICK_CHECK_MIN_HITS = 3;
+
+    private static final String CACHE_METRIC = "keywords.language.document.cache";
+
+    @Value("${spring.main.language-default}")
+    private String languageDefault;
+
+    @Value("${keywords-poc.language-detection.languages:fr,en}")
+    private List<String> languages;
+
+    @Value("${keywords-poc.language-detection.pool-size:4}")
+    private int poolSize;
+
+    @Value("${keywords-poc.language-detection.document-cache.max-size:10000}")
+    private long documentCacheMaxSize;
+
+    @Value("${keywords-poc.language-detection.document-cache.ttl:30m}")
+    private Duration documentCacheTtl;
+
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<LanguageDetector> detectors;
+
+    private BoundedCache<UUID, String> documentLanguages;
+
+    private final Map<String, Set<String>> stopwords = new LinkedHashMap<>();
+
+    private Counter cacheHits;
+
+    private Counter cacheMisses;
+
+    private Counter redetections;
+
+    @PostConstruct
+    public void init() {
+        Set<String> models = new LinkedHashSet<>();
+
+        languages.stream()
+                .map(String::trim)
+                .filter(l -> !l.isEmpty())
+                .forEach(models::add);
+
+        int size = Math.max(1, poolSize);
+        detectors = new ArrayBlockingQueue<>(size);
+
+        try {
+            for (int i = 0; i < size; i++) {
+                detectors.add(new OptimaizeLangDetector().loadModels(models));
+            }
+
+            for (String lang : models) {
+                stopwords.put(lang, ResourceLoader.loadLines("/entity_rules/" + lang + "/stopwords.txt"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading language detection models", e);
+        }
+
+        documentLanguages = new BoundedCache<>(documentCacheMaxSize, documentCacheTtl);
+
+        cacheHits = Counter.builder(CACHE_METRIC)
+                .description("Chunks whose language was taken from their document")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        cacheMisses = Counter.builder(CACHE_METRIC)
+                .description("Chunks whose language had to be detected")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        redetections = Counter.builder(CACHE_METRIC)
+                .description("Chunks re-detected because the quick check disagreed with their document")
+                .tag("result", "redetect")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_METRIC + ".size", documentLanguages, BoundedCache::size)
+                .description("Documents whose language is memoized")
+                .register(meterRegistry);
+
+        log.info("LanguageDetectionService initialized with {} detector(s) for languages {}", size, models);
+    }
+
+    /**
+     * Détecte la langue d'un chunk en réutilisant la langue déjà trouvée pour son
+     * document.
+     *
+     * @param documentId : identifiant du document du chunk
+     * @param text       : texte du chunk
+     *
+     * @return code langue détecté ou langue par défaut
+     */
+    public String detect(UUID documentId, String text) {
+        if (documentId == null) {
+            return detect(text);
+        }
+
+        String documentLanguage = documentLanguages.get(documentId);
+
+        if (documentLanguage != null) {
+            String quick = quickCheck(text);
+
+            if (quick == null || quick.equals(documentLanguage)) {
+                cacheHits.increment();
+                return documentLanguage;
+            }
+
+            // le chunk semble dans une autre langue que son document
+            redetections.increment();
+
+            log.debug("Quick check '{}' disagrees with document {} language '{}', detecting again", quick,
+                    documentId, documentLanguage);
+
+            String lang = detectReasonablyCertain(text);
+            return lang != null ? lang : documentLanguage;
+        }
+
+        cacheMisses.increment();
+
+        String lang = detectReasonablyCertain(text);
+
+        if (lang == null) {
+            return languageDefault;
+        }
+
+        documentLanguages.put(documentId, lang);
+
+        return lang;
+    }
+
+    /**
+     * Détecte automatiquement la langue du texte
+     *
+     * @param text : texte à analyser
+     *
+     * @return code langue détecté ou langue par défaut
+     */
+    public String detect(String text) {
+        String lang = detectReasonablyCertain(text);
+
+        return lang != null ? lang : languageDefault;
+    }
+
+    /**
+     * Contrôle rapide de la langue par comptage des mots vides de chaque langue
+     * configurée.
+     *
+     * @return langue majoritaire ou null si le contrôle n'est pas concluant
+     */
+    private String quickCheck(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        String sample = text.length() > QUICK_CHECK_LENGTH ? text.substring(0, QUICK_CHECK_LENGTH) : text;
+        String[] words = sample.toLowerCase().split("[^\\p{L}]+");
+
+        String best = null;
+        int bestHits = 0;
+        boolean tie = false;
+
+        for (Map.Entry<String, Set<String>> entry : stopwords.entrySet()) {
+            int hits = 0;
+
+            for (String word : words) {
+                if (entry.getValue().contains(word)) {
+                    hits++;
+                }
+            }
+
+            if (hits > bestHits) {
+                best = entry.getKey();
+                bestHits = hits;
+                tie = false;
+            } else if (hits == bestHits) {
+                tie = true;
+            }
+        }
+
+        return (tie || bestHits < QUICK_CHECK_MIN_HITS) ? null : best;
+    }
+
+    /**
+     * Détecte la langue du texte
+     *
+     * @return code langue ou null si la langue ne peut être déterminée avec
+     *         certitude
+     */
+    private String detectReasonablyCertain(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            log.warn("Text is empty or null, defaulting language to locale");
+            return null;
+        }
+
+        // Nettoyage du texte : suppression des espaces multiples et caractères
+        // invisibles
+        text = text.replaceAll("\\s+", " ").trim();
+
+        // Trop court pour détecter => langage par défaut
+        if (text.length() < MIN_TEXT_LENGTH) {
+            log.warn("Text is too short, defaulting language to locale");
+            return null;
+        }
+
+        LanguageDetector detector = null;
+
+        try {
+            detector = detectors.take();
+            LanguageResult result = detector.detect(text);
+
+            if (result.isReasonablyCertain()) {
+                return result.getLanguage();
+            } else {
+                log.warn("Language not reasonably certain, defaulting to locale");
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Language detection interrupted, defaulting to locale");
+            return null;
+        } catch (Exception e) {
+            log.error("Language detection failed, defaulting to locale", e);
+            return null;
+        } finally {
+            if (detector != null) {
+                detectors.add(detector);
+            }
+        }
+    }
+}
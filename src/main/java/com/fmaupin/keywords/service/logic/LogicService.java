@@ -18,26 +18,27 @@
 
 package com.fmaupin.keywords.service.logic;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
-import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
-import org.apache.tika.language.detect.LanguageDetector;
-import org.apache.tika.language.detect.LanguageResult;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import com.fmaupin.keywords.enumeration.AnnotationModeEnum;
 import com.fmaupin.keywords.exception.CoreNLPServerException;
 import com.fmaupin.keywords.helper.CoreNLPHelper;
 import com.fmaupin.keywords.helper.KeywordsTransformer;
-import com.fmaupin.keywords.model.bd.KeywordsDb;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
 import com.fmaupin.keywords.model.message.InputMessage;
+import com.fmaupin.keywords.model.message.ProcessingContext;
+import com.fmaupin.keywords.service.corenlp.CoreNLPAnnotationStore;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceCache;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceSelector;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
 import com.fmaupin.keywords.service.db.KeywordsService;
 
 import lombok.RequiredArgsConstructor;
@@ -46,6 +47,9 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Service pour extraction des mots clés
  *
+ * Le traitement est découpé en étapes (cf. PipelineStageEnum) enchaînées par
+ * ResultService sur des pools de threads distincts.
+ *
  * @author Fabrice MAUPIN
  * @version 0.0.1-SNAPSHOT
  * @since 30/10/25
@@ -55,109 +59,278 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class LogicService implements Logic {
 
-    @Value("${coreNLP.url-base}")
-    private String coreNLPUrlBase;
+    private final CoreNLPClient coreNLPClient;
+
+    private final CoreNLPBatcher coreNLPBatcher;
 
-    @Value("${spring.main.language-default}")
-    private String languageDefault;
+    private final CoreNLPSplitter coreNLPSplitter;
 
-    private final RestTemplate restTemplate;
+    private final CoreNLPSentenceCache coreNLPSentenceCache;
+
+    private final CoreNLPSentenceSelector coreNLPSentenceSelector;
 
     private final KeywordsService keywordsService;
 
     private final LogicDisplayResultService displayResultService;
 
+    private final LanguageDetectionService languageDetectionService;
+
+    private final AnnotationCacheService annotationCache;
+
+    private final CoreNLPAnnotationStore annotationStore;
+
+    private final AnnotationCoalescingService annotationCoalescing;
+
+    private final NearDuplicateService nearDuplicates;
+
+    private final EntityCandidateFilter candidateFilter;
+
     @Override
     public InputMessage run(InputMessage message) {
-        try {
-            Instant start = Instant.now();
+        ProcessingContext context = new ProcessingContext(message);
+
+        detectLanguage(context);
+        annotate(context);
+        postProcess(context);
+
+        return persist(context);
+    }
+
+    /**
+     * Etape DETECT : détection automatique de la langue du chunk
+     */
+    public ProcessingContext detectLanguage(ProcessingContext context) {
+        context.setLang(languageDetectionService.detect(context.getMessage().getChunk().getDocumentId(),
+                context.getText()));
+
+        return context;
+    }
+
+    /**
+     * Etape ANNOTATE : appel au serveur CoreNLP pour extraire les entités
+     * (sauf texte déjà annoté, cf. AnnotationCacheService et
+     * CoreNLPAnnotationStore, ou sans candidat à une entité, cf.
+     * EntityCandidateFilter ; seules les phrases d'un texte quasi identique à un
+     * chunk déjà annoté qui diffèrent sont annotées, cf. NearDuplicateService)
+     */
+    public ProcessingContext annotate(ProcessingContext context) {
+        if (isCached(context) || isFiltered(context)) {
+            return context;
+        }
+
+        if (coreNLPBatcher.isEnabled() || coreNLPSentenceCache.isEnabled() || coreNLPSentenceSelector.isEnabled()
+                || context.getNearDuplicate() != null || coreNLPSplitter.isOversized(context.getText())) {
+            // attente du lot regroupant ce chunk ou des blocs du chunk découpé
+            return annotateRemote(context).join();
+        }
+
+        return complete(context, annotationCoalescing.coalesce(context.getCacheKey(), () -> {
+            try {
+                return CompletableFuture.completedFuture(coreNLPClient.annotate(context.getText(),
+                        context.getLang()));
+            } catch (CoreNLPServerException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        })).join();
+    }
 
-            String text = message.getChunk().getBlock();
+    /**
+     * Etape ANNOTATE (asynchrone) : l'étape se termine à la réception de la
+     * réponse CoreNLP, sans bloquer de thread en mode reactive.
+     *
+     * Cache des phrases activé, seules les phrases inconnues sont annotées (cf.
+     * CoreNLPSentenceCache, requêtes découpées et regroupées comme les chunks) ; sélection des phrases activée, seules les phrases
+     * contenant un candidat à une entité sont annotées (cf.
+     * CoreNLPSentenceSelector). Sinon, un chunk volumineux est découpé en blocs
+     * annotés en parallèle (cf. CoreNLPSplitter) et, regroupement activé, le
+     * chunk est envoyé dans le lot de sa langue (cf. CoreNLPBatcher). Un texte
+     * déjà annoté ne repasse pas par CoreNLP (cf. AnnotationCacheService et
+     * CoreNLPAnnotationStore), seules les phrases d'un texte quasi identique à
+     * un chunk déjà annoté qui diffèrent sont annotées (cf.
+     * NearDuplicateService) et
+     * les chunks identiques annotés simultanément partagent le même appel (cf.
+     * AnnotationCoalescingService).
+     */
+    public CompletableFuture<ProcessingContext> annotateAsync(ProcessingContext context) {
+        if (isCached(context) || isFiltered(context)) {
+            return CompletableFuture.completedFuture(context);
+        }
 
-            // Détection automatique de la langue
-            String lang = detectLanguage(text);
+        return annotateRemote(context);
+    }
 
-            // Génération dynamique de l'URL CoreNLP avec tokenize.language
-            String coreNLPUrl = buildCoreNLPUrl(lang);
+    private CompletableFuture<ProcessingContext> annotateRemote(ProcessingContext context) {
+        return complete(context, annotationCoalescing.coalesce(context.getCacheKey(), () -> {
+            if (context.getNearDuplicate() != null) {
+                return nearDuplicates.annotate(context.getNearDuplicate(), context.getText(), context.getLang());
+            }
 
-            // Appel au serveur CoreNLP pour extraire les entités (UTF-8 & synchrone)
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(new MediaType("text", "plain", StandardCharsets.UTF_8));
+            if (coreNLPSentenceCache.isEnabled()) {
+                return coreNLPSentenceCache.annotate(context.getText(), context.getLang());
+            }
 
-            HttpEntity<String> request = new HttpEntity<>(text, headers);
+            if (coreNLPSentenceSelector.isEnabled()) {
+                return coreNLPSentenceSelector.annotate(context.getText(), context.getLang());
+            }
 
-            String jsonResponse = restTemplate.postForObject(coreNLPUrl,
-                    request, String.class);
+            if (coreNLPSplitter.isOversized(context.getText())) {
+                return coreNLPSplitter.annotate(context.getText(), context.getLang());
+            }
 
-            Map<String, List<String>> entities = CoreNLPHelper.extractEntities(jsonResponse, lang);
+            if (coreNLPBatcher.isEnabled()) {
+                return coreNLPBatcher.submit(context.getText(), context.getLang());
+            }
 
-            // Affichage des entités extraites (logs)
-            displayResultService.displayResult(message, lang, entities);
+            return coreNLPClient.annotateAsync(context.getText(), context.getLang());
+        }));
+    }
 
-            // Stocker les mots clés en base de données
-            List<KeywordsDb.CategorizedKeyword> keywords = KeywordsTransformer.normalizeKeywords(entities);
+    private CompletableFuture<ProcessingContext> complete(ProcessingContext context,
+            CompletableFuture<CoreNLPAnnotation> response) {
+        return response
+                .handle((annotation, ex) -> {
+                    Throwable cause = (ex instanceof CompletionException && ex.getCause() != null)
+                            ? ex.getCause()
+                            : ex;
 
-            keywordsService.saveChunkKeywords(message.getChunk(), keywords);
+                    if (cause instanceof CoreNLPServerException) {
+                        log.error("Error during keywords extraction or saving", cause);
+                    } else if (cause != null) {
+                        throw new CompletionException(cause);
+                    } else {
+                        context.setAnnotation(annotation);
 
-            Instant end = Instant.now();
+                        // annotation limitée aux phrases candidates (cf.
+                        // CoreNLPSentenceSelector) : non conservée sur disque
+                        context.setStorable(annotationMode() != AnnotationModeEnum.SENTENCE_SELECTOR);
+                    }
 
-            log.info("Thread {} - processing message [{} - {}] -> processing time {} ms",
-                    Thread.currentThread().getName(),
-                    message.getChunk().getDocumentId(),
-                    message.getChunk().getBlockNumber(),
-                    ChronoUnit.MILLIS.between(start, end));
+                    return context;
+                });
+    }
 
-            return message;
-        } catch (CoreNLPServerException e) {
-            log.error("Error during keywords extraction or saving", e);
-            return message;
+    /**
+     * Etape POST_PROCESS : analyse de la réponse CoreNLP et normalisation des
+     * mots clés
+     */
+    public ProcessingContext postProcess(ProcessingContext context) {
+        Map<String, List<String>> entities = context.getEntities();
+
+        if (entities == null) {
+            if (context.getAnnotation() == null) {
+                return context;
+            }
+
+            entities = CoreNLPHelper.extractEntities(context.getAnnotation(), context.getLang());
+
+            if (context.isFilterSample()) {
+                candidateFilter.recordSample(entities);
+            }
+
+            annotationCache.put(context.getCacheKey(), entities);
+
+            // écriture sur disque hors du thread ayant reçu la réponse (thread
+            // I/O en mode reactive)
+            if (context.isStorable()) {
+                annotationStore.put(context.getCacheKey(), context.getAnnotation());
+            }
+
+            nearDuplicates.add(context.getCacheKey(), context.getFingerprint(), context.getLang(), context.getText(),
+                    context.getAnnotation());
         }
+
+        // Affichage des entités extraites (logs)
+        displayResultService.displayResult(context.getMessage(), context.getLang(), entities);
+
+        context.setKeywords(KeywordsTransformer.normalizeKeywords(entities));
+
+        return context;
     }
 
     /**
-     * Détecte automatiquement la langue du texte
+     * @return true si les entités ou l'annotation du chunk sont déjà connues
+     *         (appel CoreNLP inutile)
      */
-    private String detectLanguage(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            log.warn("Text is empty or null, defaulting language to locale");
-            return languageDefault;
+    private boolean isCached(ProcessingContext context) {
+        if (!annotationCache.isEnabled() && !annotationStore.isEnabled() && !annotationCoalescing.isEnabled()
+                && !nearDuplicates.isEnabled()) {
+            return false;
+        }
+
+        if (context.getCacheKey() == null) {
+            context.setCacheKey(annotationCache.key(context.getText(), context.getLang(), annotationMode()));
         }
 
-        // Nettoyage du texte : suppression des espaces multiples et caractères
-        // invisibles
-        text = text.replaceAll("\\s+", " ").trim();
+        context.setEntities(annotationCache.get(context.getCacheKey()));
 
-        // Trop court pour détecter => langage par défaut
-        if (text.length() < 30) {
-            log.warn("Text is too short, defaulting language to locale");
-            return languageDefault;
+        if (context.getEntities() == null) {
+            context.setAnnotation(annotationStore.get(context.getCacheKey()));
         }
 
-        try {
-            LanguageDetector detector = new OptimaizeLangDetector().loadModels();
-            LanguageResult result = detector.detect(text);
+        if (context.getEntities() == null && context.getAnnotation() == null && nearDuplicates.isEnabled()) {
+            // texte quasi identique à un chunk déjà annoté : seules les phrases
+            // qui diffèrent seront annotées (cf. NearDuplicateService)
+            context.setFingerprint(nearDuplicates.fingerprint(context.getText()));
+            context.setNearDuplicate(nearDuplicates.find(context.getFingerprint(), context.getLang()));
+        }
 
-            if (result.isReasonablyCertain()) {
-                return result.getLanguage();
-            } else {
-                log.warn("Language not reasonably certain, defaulting to locale");
-                return languageDefault;
-            }
-        } catch (Exception e) {
-            log.error("Language detection failed, defaulting to locale", e);
-            return languageDefault;
+        return context.getEntities() != null || context.getAnnotation() != null;
+    }
+
+    /**
+     * @return manière dont les chunks sont annotés (le cache des phrases est
+     *         prioritaire sur la sélection des phrases candidates)
+     */
+    private AnnotationModeEnum annotationMode() {
+        if (coreNLPSentenceCache.isEnabled()) {
+            return AnnotationModeEnum.SENTENCE_CACHE;
         }
+
+        if (coreNLPSentenceSelector.isEnabled()) {
+            return AnnotationModeEnum.SENTENCE_SELECTOR;
+        }
+
+        return AnnotationModeEnum.FULL;
     }
 
     /**
-     * Construit dynamiquement l'URL CoreNLP avec la langue détectée
+     * @return true si le chunk ne contient aucun candidat à une entité (chunk
+     *         enregistré sans mot clé)
      */
-    private String buildCoreNLPUrl(String lang) {
-        String propertiesJson = String.format(
-                "{\"annotators\":\"tokenize,ssplit,pos,lemma,ner\",\"outputFormat\":\"json\",\"tokenize.language\":\"%s\"}",
-                lang);
+    private boolean isFiltered(ProcessingContext context) {
+        if (!candidateFilter.isWithoutCandidate(context.getText(), context.getLang())) {
+            return false;
+        }
+
+        if (candidateFilter.sample()) {
+            context.setFilterSample(true);
+            return false;
+        }
+
+        context.setEntities(Map.of());
+
+        return true;
+    }
+
+    /**
+     * Etape PERSIST : stockage des mots clés en base de données
+     */
+    public InputMessage persist(ProcessingContext context) {
+        InputMessage message = context.getMessage();
+
+        if (context.getKeywords() == null) {
+            return message;
+        }
+
+        keywordsService.saveChunkKeywords(message.getChunk(), context.getKeywords());
+
+        log.info("Thread {} - processing message [{} - {}] -> processing time {} ms",
+                Thread.currentThread().getName(),
+                message.getChunk().getDocumentId(),
+                message.getChunk().getBlockNumber(),
+                ChronoUnit.MILLIS.between(context.getStart(), Instant.now()));
 
-        return coreNLPUrlBase + "?properties=" + URLEncoder.encode(propertiesJson, StandardCharsets.UTF_8);
+        return message;
     }
 
 }
@@ -0,0 +1,492 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fmaupin.keywords.helper.CoreNLPAnnotationHelper;
+import com.fmaupin.keywords.model.corenlp.ChunkFingerprint;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NearDuplicateService
+ *
+ * Annotation des chunks quasi identiques à un chunk récemment annoté (mentions
+ * légales dont seule la date change, en-têtes numérotés, ...) : seules les
+ * phrases qui diffèrent sont envoyées à CoreNLP, l'annotation des autres est
+ * reprise du chunk déjà annoté.
+ *
+ * Chaque chunk annoté est indexé par la signature MinHash de ses mots et
+ * paires de mots consécutifs, découpée en bandes (LSH) : les chunks partageant
+ * une bande sont comparés et le plus similaire est retenu si sa similarité
+ * estimée atteint `similarity-threshold`. L'annotation de chaque phrase du
+ * chunk indexé (découpage local, cf. CoreNLPAnnotationHelper.sentenceBlocks)
+ * est conservée avec l'empreinte de son texte normalisé ; une phrase que
+ * CoreNLP n'a pas découpée de la même manière n'est pas conservée (elle sera
+ * annotée de nouveau).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NearDuplicateService {
+
+    private static final String NEAR_DUPLICATE_METRIC = "keywords.annotation.near.duplicate";
+
+    private static final Pattern WORDS = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    // 16 bandes de 4 valeurs : chunks de similarité >= 0.5 presque toujours
+    // comparés
+    private static final int BANDS = 16;
+
+    private static final int ROWS = 4;
+
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+
+    // FNV-1a 64 bits
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    @Value("${keywords-poc.near-duplicate.enabled:false}")
+    private boolean enabled;
+
+    @Value("${keywords-poc.near-duplicate.similarity-threshold:0.8}")
+    private double similarityThreshold;
+
+    @Value("${keywords-poc.near-duplicate.max-entries:10000}")
+    private int maxEntries;
+
+    private final CoreNLPSplitter coreNLPSplitter;
+
+    private final MeterRegistry meterRegistry;
+
+    // chunks indexés, du moins récemment utilisé au plus récent
+    private Map<ContentKey, Entry> entries;
+
+    // bande (numéro, valeurs) -> chunks
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter reusedSentences;
+
+    private Counter annotatedSentences;
+
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ContentKey, Entry> eldest) {
+                if (size() > maxEntries) {
+                    unindex(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+
+        hits = Counter.builder(NEAR_DUPLICATE_METRIC)
+                .description("Chunks annotated from a near-duplicate chunk")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder(NEAR_DUPLICATE_METRIC)
+                .description("Chunks without near-duplicate chunk")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        reusedSentences = Counter.builder(NEAR_DUPLICATE_METRIC + ".sentences")
+                .description("Sentences whose annotation was taken from a near-duplicate chunk")
+                .tag("result", "reused")
+                .register(meterRegistry);
+        annotatedSentences = Counter.builder(NEAR_DUPLICATE_METRIC + ".sentences")
+                .description("Differing sentences of near-duplicate chunks sent to CoreNLP")
+                .tag("result", "annotated")
+                .register(meterRegistry);
+        Gauge.builder(NEAR_DUPLICATE_METRIC + ".skip.ratio", this, NearDuplicateService::skipRatio)
+                .description("Share of sentences of near-duplicate chunks not sent to CoreNLP")
+                .register(meterRegistry);
+        Gauge.builder(NEAR_DUPLICATE_METRIC + ".similarity.threshold", this, b -> b.similarityThreshold)
+                .description("Minimum estimated similarity of near-duplicate chunks")
+                .register(meterRegistry);
+        Gauge.builder(NEAR_DUPLICATE_METRIC + ".size", this, NearDuplicateService::size)
+                .description("Annotated chunks indexed for near-duplicate detection")
+                .register(meterRegistry);
+
+        log.info("NearDuplicateService initialized (enabled: {}, similarity threshold {}, max entries {})", enabled,
+                similarityThreshold, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return empreinte du texte (null si la détection est désactivée)
+     */
+    public ChunkFingerprint fingerprint(String text) {
+        if (!enabled || text == null) {
+            return null;
+        }
+
+        Set<Long> features = new HashSet<>();
+
+        Matcher matcher = WORDS.matcher(AnnotationCacheService.normalize(text));
+        long previous = 0L;
+        boolean first = true;
+
+        while (matcher.find()) {
+            long hash = hash(matcher.group());
+
+            // mots et paires de mots consécutifs (ordre des mots)
+            features.add(hash);
+
+            if (!first) {
+                features.add(previous * FNV_PRIME ^ hash);
+            }
+
+            previous = hash;
+            first = false;
+        }
+
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (long feature : features) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                signature[i] = Math.min(signature[i], (int) (mix(feature + i * GOLDEN_GAMMA) >>> 33));
+            }
+        }
+
+        return new ChunkFingerprint(signature);
+    }
+
+    /**
+     * @return clé du chunk annoté quasi identique, ou null
+     */
+    public synchronized ContentKey find(ChunkFingerprint fingerprint, String lang) {
+        if (!enabled || fingerprint == null) {
+            return null;
+        }
+
+        Entry best = null;
+        double bestSimilarity = similarityThreshold;
+
+        for (int band = 0; band < BANDS; band++) {
+            for (Entry entry : buckets.getOrDefault(bucket(band, fingerprint.getSignature()), List.of())) {
+                double similarity = similarity(entry.fingerprint.getSignature(), fingerprint.getSignature());
+
+                if (similarity >= bestSimilarity && entry.lang.equals(lang)) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+
+        if (best == null) {
+            misses.increment();
+            return null;
+        }
+
+        // chunk récemment utilisé
+        entries.get(best.key);
+        hits.increment();
+
+        return best.key;
+    }
+
+    /**
+     * Annote un texte quasi identique à un chunk indexé : les phrases connues
+     * reprennent l'annotation du chunk indexé, les autres (phrases contiguës
+     * regroupées) sont annotées par CoreNLP (cf.
+     * CoreNLPSplitter.annotatePassages).
+     *
+     * @param nearDuplicate : clé du chunk quasi identique (cf. find)
+     * @param text          : texte à annoter
+     * @param lang          : langue du texte
+     *
+     * @return réponse de CoreNLP pour le texte complet
+     */
+    public CompletableFuture<CoreNLPAnnotation> annotate(ContentKey nearDuplicate, String text, String lang) {
+        Map<Long, CoreNLPAnnotation> known;
+
+        synchronized (this) {
+            Entry entry = entries.get(nearDuplicate);
+
+            // chunk oublié entre-temps => texte complet annoté
+            known = entry == null ? Map.of() : entry.sentences;
+        }
+
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, lang, 0);
+
+        // réponse de chaque partie du texte (null => passage à annoter)
+        List<CoreNLPAnnotation> parts = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<String> passages = new ArrayList<>();
+
+        int blockStart = 0;
+        int passageStart = -1;
+        int reused = 0;
+
+        for (int i = 0; i <= blocks.size(); i++) {
+            CoreNLPAnnotation sentence = i < blocks.size() ? known.get(blockHash(blocks.get(i))) : null;
+
+            if (i < blocks.size() && sentence == null) {
+                if (passageStart < 0) {
+                    passageStart = blockStart;
+                }
+            } else if (passageStart >= 0) {
+                // espaces de fin de passage inutiles à CoreNLP
+                passages.add(text.substring(passageStart, blockStart).stripTrailing());
+                parts.add(null);
+                starts.add(passageStart);
+                passageStart = -1;
+            }
+
+            if (sentence != null) {
+                parts.add(sentence);
+                starts.add(blockStart);
+                reused++;
+            }
+
+            if (i < blocks.size()) {
+                blockStart += blocks.get(i).length();
+            }
+        }
+
+        reusedSentences.increment(reused);
+        annotatedSentences.increment((double) blocks.size() - reused);
+
+        int[] offsets = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        if (passages.isEmpty()) {
+            return CompletableFuture.completedFuture(assemble(text, parts, offsets));
+        }
+
+        return coreNLPSplitter.annotatePassages(passages, lang).thenApply(responses -> {
+            List<CoreNLPAnnotation> annotated = new ArrayList<>(parts);
+            int next = 0;
+
+            for (int i = 0; i < annotated.size(); i++) {
+                if (annotated.get(i) == null) {
+                    annotated.set(i, responses.get(next++));
+                }
+            }
+
+            return assemble(text, annotated, offsets);
+        });
+    }
+
+    /**
+     * Indexe un chunk annoté
+     *
+     * @param text       : texte du chunk
+     * @param annotation : réponse de CoreNLP pour le texte
+     */
+    public synchronized void add(ContentKey key, ChunkFingerprint fingerprint, String lang, String text,
+            CoreNLPAnnotation annotation) {
+        if (!enabled || key == null || fingerprint == null || lang == null || text == null || annotation == null
+                || entries.containsKey(key)) {
+            return;
+        }
+
+        Entry entry = new Entry(key, fingerprint, lang, sentences(text, lang, annotation));
+
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucket(band, fingerprint.getSignature()), b -> new ArrayList<>()).add(entry);
+        }
+
+        entries.put(key, entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public double skipRatio() {
+        double total = reusedSentences.count() + annotatedSentences.count();
+
+        return total == 0d ? 0d : reusedSentences.count() / total;
+    }
+
+    /**
+     * @return annotation de chaque phrase (découpage local) du texte, par
+     *         empreinte du texte normalisé de la phrase
+     */
+    private static Map<Long, CoreNLPAnnotation> sentences(String text, String lang, CoreNLPAnnotation annotation) {
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, lang, 0);
+        int[] starts = new int[blocks.size()];
+
+        for (int i = 1; i < blocks.size(); i++) {
+            starts[i] = starts[i - 1] + blocks.get(i - 1).length();
+        }
+
+        Map<Long, CoreNLPAnnotation> sentences = new HashMap<>();
+
+        if (blocks.isEmpty()) {
+            return sentences;
+        }
+
+        List<CoreNLPAnnotation> parts = CoreNLPAnnotationHelper.split(annotation, starts);
+
+        // fin de la dernière phrase CoreNLP des blocs précédents
+        int coveredUntil = 0;
+
+        for (int i = 0; i < blocks.size(); i++) {
+            int blockEnd = starts[i] + blocks.get(i).length();
+            int end = starts[i];
+
+            for (CoreNLPSentence sentence : parts.get(i).getSentences()) {
+                end = Math.max(end, starts[i] + sentence.getEnd());
+            }
+
+            // phrase CoreNLP à cheval sur deux blocs : blocs non réutilisables
+            if (coveredUntil <= starts[i] && end <= blockEnd) {
+                sentences.putIfAbsent(blockHash(blocks.get(i)), parts.get(i));
+            }
+
+            coveredUntil = Math.max(coveredUntil, end);
+        }
+
+        return sentences;
+    }
+
+    private static CoreNLPAnnotation assemble(String text, List<CoreNLPAnnotation> parts, int[] offsets) {
+        return new CoreNLPAnnotation(text, CoreNLPAnnotationHelper.merge(parts, offsets).getSentences());
+    }
+
+    private static long blockHash(String block) {
+        return hash(AnnotationCacheService.normalize(block).strip());
+    }
+
+    private void unindex(Entry entry) {
+        for (int band = 0; band < BANDS; band++) {
+            Long bucket = bucket(band, entry.fingerprint.getSignature());
+            List<Entry> list = buckets.get(bucket);
+
+            list.remove(entry);
+
+            if (list.isEmpty()) {
+                buckets.remove(bucket);
+            }
+        }
+    }
+
+    private static long bucket(int band, int[] signature) {
+        long hash = band;
+
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * FNV_PRIME ^ signature[row];
+        }
+
+        return hash;
+    }
+
+    /**
+     * @return part des valeurs communes aux deux signatures
+     */
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+
+        return (double) same / SIGNATURE_SIZE;
+    }
+
+    private static long hash(String word) {
+        long hash = FNV_OFFSET;
+
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Dispersion des bits (finaliseur de MurmurHash3)
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /**
+     * Chunk annoté indexé
+     */
+    private static final class Entry {
+
+        private final ContentKey key;
+
+        private final ChunkFingerprint fingerprint;
+
+        private final String lang;
+
+        // empreinte du texte normalisé d'une phrase -> annotation de la phrase
+        private final Map<Long, CoreNLPAnnotation> sentences;
+
+        private Entry(ContentKey key, ChunkFingerprint fingerprint, String lang,
+                Map<Long, CoreNLPAnnotation> sentences) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.lang = lang;
+            this.sentences = sentences;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fmaupin.keywords.enumeration.CoreNLPClientModeEnum;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.service.corenlp.CoreNLPCircuitBreaker;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPConcurrencyLimiter;
+import com.fmaupin.keywords.service.corenlp.CoreNLPHedgingPolicy;
+import com.fmaupin.keywords.service.corenlp.CoreNLPLoadBalancer;
+import com.fmaupin.keywords.service.corenlp.CoreNLPProfiles;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * CoreNLPBenchmarkClients
+ *
+ * Construction hors contexte Spring d'un CoreNLPClient (mode blocking, un seul
+ * serveur, valeurs par défaut de la configuration) pour les benchmarks.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class CoreNLPBenchmarkClients {
+
+    /**
+     * @param annotators : annotateurs demandés
+     * @param options    : options CoreNLP (clé=valeur)
+     * @param format     : format de réponse
+     */
+    static CoreNLPProfiles profiles(List<String> annotators, List<String> options, CoreNLPOutputFormatEnum format) {
+        CoreNLPProfiles profiles = new CoreNLPProfiles(new MockEnvironment());
+
+        ReflectionTestUtils.setField(profiles, "annotators", annotators);
+        ReflectionTestUtils.setField(profiles, "options", options);
+        ReflectionTestUtils.setField(profiles, "languages", List.of("fr", "en"));
+        ReflectionTestUtils.setField(profiles, "outputFormat", format);
+
+        profiles.init();
+
+        return profiles;
+    }
+
+    /**
+     * @param url      : serveur CoreNLP (réel ou CoreNLPStubServer)
+     * @param profiles : profils d'annotation
+     */
+    static CoreNLPClient client(String url, CoreNLPProfiles profiles) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        CoreNLPLoadBalancer loadBalancer = new CoreNLPLoadBalancer(meterRegistry);
+
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of(url));
+        ReflectionTestUtils.setField(loadBalancer, "failureThreshold", 3);
+        ReflectionTestUtils.setField(loadBalancer, "slowThreshold", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(loadBalancer, "ejectionTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckTimeout", Duration.ofSeconds(1));
+
+        loadBalancer.init();
+
+        CoreNLPHedgingPolicy hedgingPolicy = new CoreNLPHedgingPolicy(loadBalancer, meterRegistry);
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", false);
+        ReflectionTestUtils.setField(hedgingPolicy, "percentile", 0.95);
+        ReflectionTestUtils.setField(hedgingPolicy, "minDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(hedgingPolicy, "budget", 0.05);
+
+        hedgingPolicy.init();
+
+        CoreNLPConcurrencyLimiter limiter = new CoreNLPConcurrencyLimiter(meterRegistry);
+
+        ReflectionTestUtils.setField(limiter, "initialLimit", 16);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 64);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiter, "slowLatency", Duration.ofSeconds(10));
+
+        limiter.init();
+
+        CoreNLPCircuitBreaker circuitBreaker = new CoreNLPCircuitBreaker(meterRegistry);
+
+        ReflectionTestUtils.setField(circuitBreaker, "windowSize", 20);
+        ReflectionTestUtils.setField(circuitBreaker, "minimumCalls", 10);
+        ReflectionTestUtils.setField(circuitBreaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(circuitBreaker, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(circuitBreaker, "halfOpenCalls", 3);
+
+        circuitBreaker.init();
+
+        CoreNLPClient coreNLPClient = new CoreNLPClient(new RestTemplate(), WebClient.create(), loadBalancer,
+                hedgingPolicy, limiter, circuitBreaker, profiles);
+
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.BLOCKING);
+
+        return coreNLPClient;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+
+/**
+ * CoreNLPOutputFormatBenchmark
+ *
+ * Coût côté service d'un appel CoreNLP selon le format de réponse (json vs
+ * conll) : requête HTTP vers CoreNLPStubServer, lecture de la réponse et
+ * extraction des entités. Le coût de sérialisation côté CoreNLP n'est pas
+ * mesuré (réponses enregistrées).
+ *
+ * Allocation par opération : lancer avec `-prof gc`.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CoreNLPOutputFormatBenchmark {
+
+    private static final String RECORDED_TEXT = "/corenlp/response-fr.txt";
+
+    private static final List<String> ANNOTATORS = List.of("tokenize", "ssplit", "pos", "ner");
+
+    private static final List<String> OPTIONS = List.of("ner.useSUTime=false", "ner.applyNumericClassifiers=false");
+
+    @Param({ "JSON", "CONLL" })
+    private CoreNLPOutputFormatEnum format;
+
+    private CoreNLPStubServer stub;
+
+    private CoreNLPClient coreNLPClient;
+
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = CoreNLPOutputFormatBenchmark.class.getResourceAsStream(RECORDED_TEXT)) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        stub = new CoreNLPStubServer(0);
+
+        coreNLPClient = CoreNLPBenchmarkClients.client(stub.getUrl(),
+                CoreNLPBenchmarkClients.profiles(ANNOTATORS, OPTIONS, format));
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> annotate() {
+        return CoreNLPHelper.extractEntities(coreNLPClient.annotate(text, "fr"), "fr");
+    }
+}
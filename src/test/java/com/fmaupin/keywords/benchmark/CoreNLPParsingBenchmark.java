@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+
+/**
+ * CoreNLPParsingBenchmark
+ *
+ * Coût de l'extraction des entités d'une réponse CoreNLP enregistrée
+ * (src/test/resources/corenlp) : arbre JSON complet, lecture en flux d'une
+ * chaîne décodée, lecture en flux des octets reçus.
+ *
+ * `copies` : nombre de copies de la réponse regroupées (taille du chunk).
+ *
+ * Allocation par opération : lancer avec `-prof gc`.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CoreNLPParsingBenchmark {
+
+    private static final String RECORDED_RESPONSE = "/corenlp/response-fr.json";
+
+    @Param({ "1", "20" })
+    private int copies;
+
+    private String response;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode recorded;
+
+        try (InputStream in = CoreNLPParsingBenchmark.class.getResourceAsStream(RECORDED_RESPONSE)) {
+            recorded = mapper.readTree(in);
+        }
+
+        // positions non recalées : seules les phrases comptent pour l'extraction
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode sentences = root.putArray("sentences");
+
+        for (int i = 0; i < copies; i++) {
+            sentences.addAll((ArrayNode) recorded.path("sentences"));
+        }
+
+        response = mapper.writeValueAsString(root);
+        body = response.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> tree() {
+        return CoreNLPTreeParser.extractEntities(response, "fr");
+    }
+
+    @Benchmark
+    public Map<String, List<String>> streamingFromString() {
+        return CoreNLPHelper.extractEntities(new String(body, StandardCharsets.UTF_8), "fr");
+    }
+
+    @Benchmark
+    public Map<String, List<String>> streamingFromBytes() {
+        return CoreNLPHelper.extractEntities(CoreNLPHelper.parseAnnotation(new ByteArrayInputStream(body)), "fr");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+
+/**
+ * CoreNLPProfileBenchmark
+ *
+ * Durée d'un appel CoreNLP selon le profil d'annotation :
+ *
+ * - full : tokenize,ssplit,pos,lemma,ner avec les options par défaut de
+ * CoreNLP (SUTime, classifieurs numériques, mentions)
+ * - minimal : sans lemma, SUTime, classifieurs numériques ni mentions (plus
+ * d'entités DATE, NUMBER, MONEY, ... : résultat différent du profil par défaut)
+ *
+ * Par défaut l'appel est adressé à CoreNLPStubServer, qui rejoue la même
+ * réponse quel que soit le profil : seul le coût côté service est mesuré.
+ * Pour mesurer le temps de CoreNLP par profil, désigner un serveur réel :
+ * `-p url=http://localhost:9000/`.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CoreNLPProfileBenchmark {
+
+    private static final String RECORDED_TEXT = "/corenlp/response-fr.txt";
+
+    @Param({ "full", "minimal" })
+    private String profile;
+
+    // serveur CoreNLP ("" => serveur simulé)
+    @Param({ "" })
+    private String url;
+
+    private CoreNLPStubServer stub;
+
+    private CoreNLPClient coreNLPClient;
+
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = CoreNLPProfileBenchmark.class.getResourceAsStream(RECORDED_TEXT)) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String target = url;
+
+        if (target.isEmpty()) {
+            stub = new CoreNLPStubServer(0);
+            target = stub.getUrl();
+        }
+
+        coreNLPClient = CoreNLPBenchmarkClients.client(target, "full".equals(profile)
+                ? CoreNLPBenchmarkClients.profiles(List.of("tokenize", "ssplit", "pos", "lemma", "ner"), List.of(),
+                        CoreNLPOutputFormatEnum.JSON)
+                : CoreNLPBenchmarkClients.profiles(List.of("tokenize", "ssplit", "pos", "ner"),
+                        List.of("ner.useSUTime=false", "ner.applyNumericClassifiers=false",
+                                "ner.buildEntityMentions=false"),
+                        CoreNLPOutputFormatEnum.JSON));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Benchmark
+    public CoreNLPAnnotation annotate() {
+        return coreNLPClient.annotate(text, "fr");
+    }
+}
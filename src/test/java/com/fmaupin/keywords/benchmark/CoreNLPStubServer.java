@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CoreNLPStubServer
+ *
+ * Serveur CoreNLP simulé : rejoue les réponses enregistrées
+ * (src/test/resources/corenlp/response-fr.<format>) dans le format demandé par
+ * les propriétés de la requête (`outputFormat`), quel que soit le texte reçu.
+ *
+ * Permet de comparer les formats de réponse hors ligne
+ * (cf. CoreNLPOutputFormatBenchmark) ou de lancer le service sans serveur
+ * CoreNLP (`coreNLP.url-base: "http://localhost:9000/"`) :
+ *
+ * `java -cp <classpath de test> com.fmaupin.keywords.benchmark.CoreNLPStubServer [port]`
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@Slf4j
+public class CoreNLPStubServer implements AutoCloseable {
+
+    private static final String RECORDED_RESPONSE = "/corenlp/response-fr.";
+
+    private static final int DEFAULT_PORT = 9000;
+
+    private final Map<CoreNLPOutputFormatEnum, byte[]> responses = new EnumMap<>(CoreNLPOutputFormatEnum.class);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final HttpServer server;
+
+    /**
+     * @param port : port d'écoute (0 => port libre)
+     */
+    public CoreNLPStubServer(int port) throws IOException {
+        for (CoreNLPOutputFormatEnum format : CoreNLPOutputFormatEnum.values()) {
+            String resource = RECORDED_RESPONSE + format.name().toLowerCase(Locale.ROOT);
+
+            try (InputStream in = CoreNLPStubServer.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("Recorded response not found: " + resource);
+                }
+
+                responses.put(format, in.readAllBytes());
+            }
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/ready", exchange -> reply(exchange, new byte[0]));
+        server.createContext("/", this::annotate);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CoreNLPStubServer stub = new CoreNLPStubServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+
+        log.info("CoreNLP stub server listening on {}", stub.getUrl());
+
+        Thread.currentThread().join();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void annotate(HttpExchange exchange) throws IOException {
+        // texte envoyé lu mais ignoré
+        exchange.getRequestBody().readAllBytes();
+
+        reply(exchange, responses.get(formatOf(exchange.getRequestURI().getRawQuery())));
+    }
+
+    private static CoreNLPOutputFormatEnum formatOf(String rawQuery) {
+        String query = rawQuery == null ? "" : URLDecoder.decode(rawQuery, StandardCharsets.UTF_8);
+
+        return query.contains("\"outputFormat\":\"conll\"") ? CoreNLPOutputFormatEnum.CONLL
+                : CoreNLPOutputFormatEnum.JSON;
+    }
+
+    private static void reply(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
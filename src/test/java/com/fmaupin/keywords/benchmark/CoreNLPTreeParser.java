@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * CoreNLPTreeParser
+ *
+ * Extraction des entités nommées depuis l'arbre JSON complet de la réponse
+ * CoreNLP : implémentation de référence de la lecture en flux
+ * (cf. CoreNLPHelper.parseAnnotation), comparée par CoreNLPParsingBenchmark.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CoreNLPTreeParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * @param jsonResponse : réponse JSON de CoreNLP
+     * @param langDetected : langue détectée du texte
+     *
+     * @return Map des entités nommées extraites
+     * @throws CoreNLPServerException
+     */
+    public static Map<String, List<String>> extractEntities(String jsonResponse, String langDetected)
+            throws CoreNLPServerException {
+        try {
+            JsonNode root = MAPPER.readTree(jsonResponse);
+            List<CoreNLPSentence> sentences = new ArrayList<>();
+
+            for (JsonNode sentence : root.path("sentences")) {
+                List<CoreNLPToken> tokens = new ArrayList<>();
+
+                for (JsonNode token : sentence.path("tokens")) {
+                    tokens.add(new CoreNLPToken(token.path("word").asText(), token.path("pos").asText(),
+                            token.path("ner").asText()));
+                }
+
+                // positions inutiles à l'extraction des entités
+                sentences.add(new CoreNLPSentence(tokens, 0, 0));
+            }
+
+            String text = root.hasNonNull("text") ? root.path("text").asText() : null;
+
+            return CoreNLPHelper.extractEntities(new CoreNLPAnnotation(text, sentences), langDetected);
+        } catch (JsonProcessingException e) {
+            throw new CoreNLPServerException("Error parsing CoreNLP JSON response", e);
+        }
+    }
+}
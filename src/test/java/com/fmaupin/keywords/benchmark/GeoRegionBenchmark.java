@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fmaupin.keywords.helper.AhoCorasickMatcher;
+
+/**
+ * GeoRegionBenchmark
+ *
+ * Coût de la recherche des régions dans un chunk selon le nombre de régions :
+ * une expression régulière par région (ancien comportement) vs un automate
+ * unique (AhoCorasickMatcher).
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeoRegionBenchmark {
+
+    private static final List<String> REGIONS = List.of("Afrique du Nord", "Amérique latine", "Asie du Sud-Est",
+            "Asie centrale", "Moyen-Orient", "Caraïbes", "Europe de l'Est", "Europe du Nord", "Europe de l'Ouest",
+            "Europe du Sud", "Océanie", "Antilles", "Maghreb", "Sous-continent indien");
+
+    private static final String CHUNK = "Le groupe a annoncé hier une hausse de ses ventes en Amérique latine et au "
+            + "Maghreb, portée par la demande des distributeurs locaux. La croissance reste plus modeste en Europe "
+            + "du Nord, où les prix de l'énergie pèsent sur les marges. La direction prévoit d'ouvrir deux usines "
+            + "d'ici la fin de l'année prochaine et de renforcer ses équipes commerciales dans la région.";
+
+    // nombre de régions recherchées (régions réelles complétées par des
+    // régions fictives)
+    @Param({ "14", "140", "1400" })
+    private int regionCount;
+
+    private List<Pattern> patterns;
+
+    private AhoCorasickMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        List<String> regions = new ArrayList<>(REGIONS);
+
+        for (int i = 0; regions.size() < regionCount; i++) {
+            regions.add("Région administrative " + i);
+        }
+
+        patterns = regions.stream()
+                .map(r -> Pattern.compile("\\b" + Pattern.quote(r) + "\\b",
+                        Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE))
+                .toList();
+        matcher = new AhoCorasickMatcher(regions);
+    }
+
+    @Benchmark
+    public List<String> regexPerRegion() {
+        List<String> found = new ArrayList<>();
+
+        for (Pattern pattern : patterns) {
+            var m = pattern.matcher(CHUNK);
+
+            while (m.find()) {
+                found.add(m.group());
+            }
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public List<String> automaton() {
+        return matcher.findAll(CHUNK);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.service.logic.LanguageDetectionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LanguageDetectionBenchmark
+ *
+ * Coût de la détection de langue par chunk : chargement des modèles à chaque
+ * chunk (ancien comportement) vs détecteurs préchargés et partagés.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LanguageDetectionBenchmark {
+
+    private static final String CHUNK = "Le président de la République a annoncé hier à Paris une nouvelle réforme "
+            + "des retraites, qui sera présentée au Conseil des ministres avant la fin du mois de novembre.";
+
+    private LanguageDetectionService languageDetectionService;
+
+    @Setup
+    public void setUp() {
+        languageDetectionService = new LanguageDetectionService(new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(languageDetectionService, "languageDefault", "fr");
+        ReflectionTestUtils.setField(languageDetectionService, "languages", List.of("fr", "en"));
+        ReflectionTestUtils.setField(languageDetectionService, "poolSize", 4);
+        ReflectionTestUtils.setField(languageDetectionService, "documentCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(languageDetectionService, "documentCacheTtl", Duration.ofMinutes(5));
+
+        languageDetectionService.init();
+    }
+
+    @Benchmark
+    public String loadModelsPerChunk() {
+        return new OptimaizeLangDetector().loadModels().detect(CHUNK).getLanguage();
+    }
+
+    @Benchmark
+    public String sharedPreloadedDetectors() {
+        return languageDetectionService.detect(CHUNK);
+    }
+}
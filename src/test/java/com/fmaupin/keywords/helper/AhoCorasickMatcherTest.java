@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AhoCorasickMatcherTest
+ *
+ * Tests pour helper AhoCorasickMatcher.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class AhoCorasickMatcherTest {
+
+    @Test
+    void testShouldFindOverlappingExpressionsInOnePass() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Europe de l'Est", "Est", "Europe"));
+
+        assertEquals(List.of("Europe", "Europe de l'Est", "Est"), matcher.findAll("En Europe de l'Est."));
+    }
+
+    @Test
+    void testShouldIgnoreCaseAndAccents() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Amérique latine", "Europe de l'Est"));
+
+        assertEquals(List.of("amerique LATINE", "Europe de l’Est"),
+                matcher.findAll("En amerique LATINE et en Europe de l’Est."));
+    }
+
+    @Test
+    void testShouldMatchWholeWordsOnly() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Est", "Maghreb"));
+
+        assertFalse(matcher.containsAny("Estonie, Maghrebins"));
+        assertTrue(matcher.containsAny("à l'Est du Maghreb"));
+    }
+
+    @Test
+    void testShouldFindNothingWithoutExpression() {
+        assertTrue(new AhoCorasickMatcher(List.of()).findAll("Europe de l'Est").isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BoundedCacheTest
+ *
+ * Tests pour helper BoundedCache.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class BoundedCacheTest {
+
+    @Test
+    void testShouldEvictLeastRecentlyUsedEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, null);
+
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        // "a" devient la plus récemment utilisée
+        assertEquals("A", cache.get("a"));
+
+        cache.put("c", "C");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testShouldExpireEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(1), (k, v) -> 1L, now::get);
+
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void testShouldBoundCacheByWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, null, (k, v) -> v.length());
+
+        cache.put("a", "12345");
+        cache.put("b", "123456");
+
+        assertNull(cache.get("a"));
+        assertEquals(6, cache.weight());
+
+        // entrée plus lourde que le cache => ignorée
+        cache.put("c", "12345678901");
+
+        assertNull(cache.get("c"));
+        assertEquals("123456", cache.get("b"));
+    }
+
+    @Test
+    void testShouldReplaceExistingEntryWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, null, (k, v) -> v.length());
+
+        cache.put("a", "123");
+        cache.put("a", "12345");
+        cache.invalidate("missing");
+
+        assertEquals(5, cache.weight());
+        assertEquals(1, cache.size());
+
+        cache.invalidate("a");
+
+        assertEquals(0, cache.weight());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+
+/**
+ * CoreNLPAnnotationCodecTest
+ *
+ * Tests pour helper CoreNLPAnnotationCodec.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPAnnotationCodecTest {
+
+    @Test
+    void testShouldDecodeEncodedAnnotation() {
+        CoreNLPAnnotation annotation = new CoreNLPAnnotation("Airbus à Marignane. Fin.", List.of(
+                new CoreNLPSentence(List.of(
+                        new CoreNLPToken("Airbus", "PROPN", "ORGANIZATION"),
+                        new CoreNLPToken("à", "ADP", "O"),
+                        new CoreNLPToken("Marignane", "PROPN", "CITY"),
+                        new CoreNLPToken(".", "PUNCT", null)), 0, 19),
+                new CoreNLPSentence(List.of(new CoreNLPToken("Fin", "NOUN", "O")), 20, 24)));
+
+        ByteBuffer buffer = ByteBuffer.wrap(CoreNLPAnnotationCodec.encode(annotation));
+
+        assertEquals(annotation, CoreNLPAnnotationCodec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testShouldKeepMissingText() {
+        CoreNLPAnnotation annotation = new CoreNLPAnnotation(null, List.of());
+
+        assertEquals(annotation, CoreNLPAnnotationCodec.decode(ByteBuffer.wrap(CoreNLPAnnotationCodec.encode(
+                annotation))));
+    }
+
+    @Test
+    void testShouldRejectTooLongToken() {
+        CoreNLPAnnotation annotation = new CoreNLPAnnotation(null, List.of(new CoreNLPSentence(
+                List.of(new CoreNLPToken("a".repeat(70_000), "X", "O")), 0, 70_000)));
+
+        assertThrows(IllegalArgumentException.class, () -> CoreNLPAnnotationCodec.encode(annotation));
+    }
+}
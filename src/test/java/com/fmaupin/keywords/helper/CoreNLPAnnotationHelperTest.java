@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+
+/**
+ * CoreNLPAnnotationHelperTest
+ *
+ * Tests pour helper CoreNLPAnnotationHelper.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPAnnotationHelperTest {
+
+    // "Paris est belle.\n\nLondres aussi." : "Londres" commence à la position 18
+    private static final String RESPONSE = """
+            {"sentences":[
+              {"index":0,"tokens":[
+                {"word":"Paris","ner":"CITY","characterOffsetBegin":0,"characterOffsetEnd":5},
+                {"word":".","ner":"O","characterOffsetBegin":15,"characterOffsetEnd":16}]},
+              {"index":1,"entitymentions":[
+                {"text":"Londres","docTokenBegin":2,"docTokenEnd":3,"characterOffsetBegin":18,"characterOffsetEnd":25}],
+               "tokens":[
+                {"word":"Londres","ner":"CITY","characterOffsetBegin":18,"characterOffsetEnd":25},
+                {"word":".","ner":"O","characterOffsetBegin":31,"characterOffsetEnd":32}]}]}
+            """;
+
+    private static final CoreNLPAnnotation ANNOTATION = CoreNLPHelper.parseAnnotation(RESPONSE);
+
+    @Test
+    void testShouldSplitSentencesBackToTheirText() {
+        List<CoreNLPAnnotation> annotations = CoreNLPAnnotationHelper.split(ANNOTATION, new int[] { 0, 18 });
+
+        assertEquals(2, annotations.size());
+
+        List<CoreNLPSentence> first = annotations.get(0).getSentences();
+        List<CoreNLPSentence> second = annotations.get(1).getSentences();
+
+        assertEquals(1, first.size());
+        assertEquals("Paris", first.get(0).getTokens().get(0).getWord());
+
+        // positions recalées sur le début du texte
+        assertEquals(1, second.size());
+        assertEquals("Londres", second.get(0).getTokens().get(0).getWord());
+        assertEquals(0, second.get(0).getBegin());
+        assertEquals(14, second.get(0).getEnd());
+    }
+
+    @Test
+    void testShouldGiveEmptyAnnotationToTextWithoutSentence() {
+        List<CoreNLPAnnotation> annotations = CoreNLPAnnotationHelper.split(ANNOTATION, new int[] { 0, 16, 18 });
+
+        assertTrue(annotations.get(1).getSentences().isEmpty());
+        assertEquals(1, annotations.get(2).getSentences().size());
+    }
+
+    @Test
+    void testShouldMergeSplitResponsesBackToOriginal() {
+        int[] starts = { 0, 18 };
+
+        CoreNLPAnnotation merged = CoreNLPAnnotationHelper.merge(CoreNLPAnnotationHelper.split(ANNOTATION, starts),
+                starts);
+
+        assertEquals(ANNOTATION.getSentences(), merged.getSentences());
+    }
+
+    @Test
+    void testShouldCutTextAtSentenceBoundaries() {
+        String text = "Paris est une ville. Londres aussi. Berlin est une capitale. Rome enfin.";
+
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, "fr", 40);
+
+        assertEquals(List.of("Paris est une ville. Londres aussi. ", "Berlin est une capitale. Rome enfin."),
+                blocks);
+        assertEquals(text, String.join("", blocks));
+    }
+
+    @Test
+    void testShouldKeepLongSentenceInOneBlock() {
+        String text = "Une phrase beaucoup plus longue que la limite. Courte.";
+
+        List<String> blocks = CoreNLPAnnotationHelper.sentenceBlocks(text, "fr", 10);
+
+        assertEquals(List.of("Une phrase beaucoup plus longue que la limite. ", "Courte."), blocks);
+        assertTrue(blocks.stream().allMatch(block -> !block.isEmpty()));
+    }
+}
@@ -19,16 +19,26 @@
 package com.fmaupin.keywords.helper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
+import com.fmaupin.keywords.benchmark.CoreNLPTreeParser;
 import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
 
 /**
  * CoreNLPHelperTest
@@ -128,6 +138,103 @@ class CoreNLPHelperTest {
     assertEquals(List.of("Jean"), result.get("PERSON"));
   }
 
+  @Test
+  void testShouldSkipUnusedFieldsWhileStreaming() {
+    String json = """
+        {
+          "sentences": [
+            {
+              "index": 0,
+              "entitymentions": [ { "text": "Jean", "ner": "PERSON", "nerConfidences": { "PERSON": 0.9 } } ],
+              "tokens": [
+                { "index": 1, "word": "Jean", "lemma": "Jean", "characterOffsetBegin": 0,
+                  "pos": "NNP", "ner": "PERSON", "after": " " }
+              ]
+            }
+          ]
+        }
+        """;
+
+    assertEquals(List.of("Jean"), CoreNLPHelper.extractEntities(json, LANG_FR).get("PERSON"));
+  }
+
+  @Test
+  void testStreamingShouldMatchTreeOnRecordedResponse() throws IOException {
+    String json;
+
+    try (InputStream in = getClass().getResourceAsStream("/corenlp/response-fr.json")) {
+      json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    Map<String, List<String>> streamed = CoreNLPHelper.extractEntities(json, LANG_FR);
+
+    assertEquals(CoreNLPTreeParser.extractEntities(json, LANG_FR), streamed);
+    assertTrue(streamed.get("PERSON").contains("Emmanuel Macron"));
+  }
+
+  @Test
+  void testShouldParseAnnotationFromStreamWithoutClosingIt() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+
+    try (InputStream in = getClass().getResourceAsStream("/corenlp/response-fr.json")) {
+      InputStream body = new FilterInputStream(in) {
+        @Override
+        public void close() {
+          closed.set(true);
+        }
+      };
+
+      CoreNLPAnnotation annotation = CoreNLPHelper.parseAnnotation(body);
+
+      assertFalse(closed.get());
+      assertEquals(6, annotation.getSentences().size());
+
+      CoreNLPSentence first = annotation.getSentences().get(0);
+
+      assertEquals(0, first.getBegin());
+      assertTrue(first.getEnd() > first.getBegin());
+      assertNotNull(first.getTokens().get(0).getWord());
+    }
+  }
+
+  @Test
+  void testConllShouldMatchJsonOnRecordedResponse() throws IOException {
+    String text;
+    CoreNLPAnnotation json;
+    CoreNLPAnnotation conll;
+
+    try (InputStream in = getClass().getResourceAsStream("/corenlp/response-fr.txt")) {
+      text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    try (InputStream in = getClass().getResourceAsStream("/corenlp/response-fr.json")) {
+      json = CoreNLPHelper.parseAnnotation(in);
+    }
+
+    try (InputStream in = getClass().getResourceAsStream("/corenlp/response-fr.conll")) {
+      conll = CoreNLPHelper.parseConll(in, text);
+    }
+
+    // positions retrouvées par alignement sur le texte
+    assertEquals(json.getSentences(), conll.getSentences());
+    assertEquals(CoreNLPHelper.extractEntities(json, LANG_FR), CoreNLPHelper.extractEntities(conll, LANG_FR));
+  }
+
+  @Test
+  void testShouldAlignConllTokensAfterExpandedContraction() {
+    String conll = "Il\tPRON\tO\nparle\tVERB\tO\nde\tADP\tO\nle\tDET\tO\nmarché\tNOUN\tO\n.\tPUNCT\tO\n\n"
+        + "Paris\tPROPN\tCITY\n";
+
+    CoreNLPAnnotation annotation = CoreNLPHelper.parseConll(
+        new ByteArrayInputStream(conll.getBytes(StandardCharsets.UTF_8)), "Il parle du marché. Paris");
+
+    assertEquals(2, annotation.getSentences().size());
+    assertEquals(0, annotation.getSentences().get(0).getBegin());
+    assertEquals(19, annotation.getSentences().get(0).getEnd());
+    assertEquals(20, annotation.getSentences().get(1).getBegin());
+    assertEquals("CITY", annotation.getSentences().get(1).getTokens().get(0).getNer());
+  }
+
   @Test
   void testShouldThrowExceptionOnInvalidJson() {
     CoreNLPServerException ex = assertThrows(
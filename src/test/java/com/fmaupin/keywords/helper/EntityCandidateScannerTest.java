@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * EntityCandidateScannerTest
+ *
+ * Tests pour helper EntityCandidateScanner.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class EntityCandidateScannerTest {
+
+    @Test
+    void testShouldFindNoCandidateInLowercaseProse() {
+        assertEquals(0, EntityCandidateScanner.countCandidates(
+                "L'entreprise recrute. Cette année, le chiffre d'affaires augmente de 12 %.", "fr", 10));
+    }
+
+    @Test
+    void testShouldFindNoCandidateInNumericTableOrCode() {
+        assertEquals(0, EntityCandidateScanner.countCandidates("12 345 678\n3,14 2,71\n| 1 | 2 |", "fr", 10));
+        assertEquals(0, EntityCandidateScanner.countCandidates("for (int i = 0; i < n; i++) { x += y; }", "en",
+                10));
+    }
+
+    @Test
+    void testShouldCountCapitalizedWordsBeyondSentenceStart() {
+        assertEquals(4, EntityCandidateScanner.countCandidates(
+                "Le président Emmanuel Macron a reçu Olaf Scholz.", "fr", 10));
+    }
+
+    @Test
+    void testShouldCountAcronymsAndIgnoreStopwords() {
+        assertEquals(1, EntityCandidateScanner.countCandidates("I think it works. The NASA report is out.", "en",
+                10));
+    }
+
+    @Test
+    void testShouldCountRegionsWrittenInLowercase() {
+        assertEquals(1, EntityCandidateScanner.countCandidates("La croissance en europe de l'ouest ralentit.",
+                "fr", 10));
+    }
+
+    @Test
+    void testShouldStopAtLimit() {
+        assertEquals(1, EntityCandidateScanner.countCandidates(
+                "Le président Emmanuel Macron a reçu Olaf Scholz.", "fr", 1));
+    }
+}
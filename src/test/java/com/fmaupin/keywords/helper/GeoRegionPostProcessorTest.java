@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -96,4 +97,20 @@ class GeoRegionPostProcessorTest {
         assertEquals(existing, result);
     }
 
+
+    @Test
+    void testShouldDetectRegionInText() {
+        assertTrue(GeoRegionPostProcessor.containsRegion("Je vis en europe de l'ouest depuis 10 ans", "fr"));
+        assertFalse(GeoRegionPostProcessor.containsRegion("Je vis à Marignane depuis 10 ans", "fr"));
+    }
+
+    @Test
+    void testShouldFindRegionWrittenWithoutAccent() {
+        Set<String> result = GeoRegionPostProcessor.enrichWithRegions(
+                "Ventes en hausse en Amerique latine et au Maghreb",
+                Set.of(),
+                "fr");
+
+        assertEquals(new LinkedHashSet<>(List.of("Amerique latine", "Maghreb")), result);
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.enumeration.AnnotationModeEnum;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPProfile;
+import com.fmaupin.keywords.service.corenlp.CoreNLPProfiles;
+import com.fmaupin.keywords.service.logic.AnnotationCacheService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * AnnotationCacheServiceTest
+ *
+ * Tests pour service AnnotationCacheService.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class AnnotationCacheServiceTest {
+
+    private static final String TEXT = "Le président Emmanuel Macron a reçu Olaf Scholz.\n\nÀ Paris.";
+
+    private CoreNLPProfiles profiles;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AnnotationCacheService annotationCache;
+
+    @BeforeEach
+    void setUp() {
+        profiles = mock(CoreNLPProfiles.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(profiles.get(anyString())).thenAnswer(invocation -> new CoreNLPProfile(invocation.getArgument(0),
+                List.of("tokenize", "ssplit", "pos", "ner"), Map.of(), ""));
+        when(profiles.getOutputFormat()).thenReturn(CoreNLPOutputFormatEnum.JSON);
+
+        annotationCache = new AnnotationCacheService(profiles, meterRegistry);
+
+        ReflectionTestUtils.setField(annotationCache, "enabled", true);
+        ReflectionTestUtils.setField(annotationCache, "maxMemory", DataSize.ofKilobytes(4));
+        ReflectionTestUtils.setField(annotationCache, "ttl", Duration.ofHours(1));
+
+        annotationCache.init();
+    }
+
+    @Test
+    void testShouldGiveSameKeyToTextsDifferingOnlyBySpacing() {
+        String spaced = "  Le président  Emmanuel\tMacron a reçu Olaf Scholz.\r\n\r\nÀ Paris. ";
+
+        assertEquals(annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL),
+                annotationCache.key(spaced, "fr", AnnotationModeEnum.FULL));
+    }
+
+    @Test
+    void testShouldKeepBlankLinesInKey() {
+        assertNotEquals(annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL),
+                annotationCache.key(TEXT.replace("\n\n", " "), "fr", AnnotationModeEnum.FULL));
+    }
+
+    @Test
+    void testShouldIncludeLanguageAndProfileInKey() {
+        ContentKey key = annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL);
+
+        assertNotEquals(key, annotationCache.key(TEXT, "en", AnnotationModeEnum.FULL));
+
+        when(profiles.get("fr")).thenReturn(new CoreNLPProfile("fr", List.of("tokenize", "ssplit", "pos", "ner"),
+                Map.of("ner.applyFineGrained", "false"), ""));
+
+        assertNotEquals(key, annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL));
+    }
+
+    @Test
+    void testShouldIncludeAnnotationModeAndOutputFormatInKey() {
+        ContentKey key = annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL);
+
+        assertNotEquals(key, annotationCache.key(TEXT, "fr", AnnotationModeEnum.SENTENCE_CACHE));
+        assertNotEquals(key, annotationCache.key(TEXT, "fr", AnnotationModeEnum.SENTENCE_SELECTOR));
+
+        when(profiles.getOutputFormat()).thenReturn(CoreNLPOutputFormatEnum.CONLL);
+
+        assertNotEquals(key, annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL));
+    }
+
+    @Test
+    void testShouldReturnCachedEntities() {
+        ContentKey key = annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL);
+
+        assertNull(annotationCache.get(key));
+
+        annotationCache.put(key, Map.of("PERSON", new ArrayList<>(List.of("Emmanuel Macron"))));
+
+        Map<String, List<String>> entities = annotationCache.get(key);
+
+        assertEquals(List.of("Emmanuel Macron"), entities.get("PERSON"));
+        assertThrows(UnsupportedOperationException.class, () -> entities.get("PERSON").add("Olaf Scholz"));
+
+        assertEquals(0.5, annotationCache.hitRatio());
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.cache").tag("result", "hit").functionCounter()
+                .count());
+        assertTrue(meterRegistry.get("keywords.annotation.cache.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void testShouldEvictLeastRecentlyUsedEntriesBeyondMaxMemory() {
+        for (int i = 0; i < 50; i++) {
+            annotationCache.put(annotationCache.key(TEXT + i, "fr", AnnotationModeEnum.FULL),
+                    Map.of("LOCATION", List.of("Paris " + i)));
+        }
+
+        assertTrue(meterRegistry.get("keywords.annotation.cache.memory").gauge().value() <= 4096);
+        assertTrue(meterRegistry.get("keywords.annotation.cache.evictions").functionCounter().count() > 0);
+
+        assertNull(annotationCache.get(annotationCache.key(TEXT + 0, "fr", AnnotationModeEnum.FULL)));
+        assertEquals(List.of("Paris 49"), annotationCache.get(annotationCache.key(TEXT + 49, "fr",
+                AnnotationModeEnum.FULL)).get("LOCATION"));
+    }
+
+    @Test
+    void testShouldNotCacheWhenDisabled() {
+        ReflectionTestUtils.setField(annotationCache, "enabled", false);
+
+        ContentKey key = annotationCache.key(TEXT, "fr", AnnotationModeEnum.FULL);
+
+        annotationCache.put(key, Map.of("LOCATION", List.of("Paris")));
+
+        assertNull(annotationCache.get(key));
+        assertNull(annotationCache.get(null));
+    }
+}
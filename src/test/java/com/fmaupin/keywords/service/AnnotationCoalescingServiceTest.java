@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.service.logic.AnnotationCoalescingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * AnnotationCoalescingServiceTest
+ *
+ * Tests pour service AnnotationCoalescingService.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class AnnotationCoalescingServiceTest {
+
+    private static final CoreNLPAnnotation ANNOTATION = new CoreNLPAnnotation(null, List.of());
+
+    private static final ContentKey KEY = new ContentKey(new byte[32]);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AnnotationCoalescingService coalescing;
+
+    private AtomicInteger calls;
+
+    private CompletableFuture<CoreNLPAnnotation> response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescing = new AnnotationCoalescingService(meterRegistry);
+
+        ReflectionTestUtils.setField(coalescing, "enabled", true);
+
+        coalescing.init();
+
+        calls = new AtomicInteger();
+        response = new CompletableFuture<>();
+    }
+
+    @Test
+    void testShouldShareInFlightCallForSameKey() {
+        CompletableFuture<CoreNLPAnnotation> first = coalescing.coalesce(KEY, this::call);
+        CompletableFuture<CoreNLPAnnotation> second = coalescing.coalesce(KEY, this::call);
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.coalescing.saved").counter().count());
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.coalescing.in.flight").gauge().value());
+
+        response.complete(ANNOTATION);
+
+        assertSame(ANNOTATION, first.join());
+        assertSame(ANNOTATION, second.join());
+        assertEquals(0.0, meterRegistry.get("keywords.annotation.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void testShouldCallAgainOnceCallIsCompleted() {
+        response.complete(ANNOTATION);
+
+        coalescing.coalesce(KEY, this::call).join();
+        coalescing.coalesce(KEY, this::call).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testShouldNotShareCallsOfDifferentKeys() {
+        byte[] other = new byte[32];
+        other[0] = 1;
+
+        coalescing.coalesce(KEY, this::call);
+        coalescing.coalesce(new ContentKey(other), this::call);
+        coalescing.coalesce(null, this::call);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testShouldPropagateFailureToWaitingCallers() {
+        RuntimeException failure = new IllegalStateException("connection reset");
+
+        coalescing.coalesce(KEY, this::call);
+        CompletableFuture<CoreNLPAnnotation> waiting = coalescing.coalesce(KEY, this::call);
+
+        response.completeExceptionally(failure);
+
+        CompletionException ex = assertThrows(CompletionException.class, waiting::join);
+
+        assertSame(failure, ex.getCause());
+    }
+
+    @Test
+    void testShouldNotCancelSharedCallWhenWaitingCallerCancels() {
+        CompletableFuture<CoreNLPAnnotation> first = coalescing.coalesce(KEY, this::call);
+
+        coalescing.coalesce(KEY, this::call).cancel(true);
+
+        response.complete(ANNOTATION);
+
+        assertTrue(first.isDone());
+        assertSame(ANNOTATION, first.join());
+    }
+
+    private CompletableFuture<CoreNLPAnnotation> call() {
+        calls.incrementAndGet();
+
+        return response;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+import com.fmaupin.keywords.service.corenlp.CoreNLPAnnotationStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPAnnotationStoreTest
+ *
+ * Tests pour service CoreNLPAnnotationStore.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPAnnotationStoreTest {
+
+    private static final CoreNLPAnnotation ANNOTATION = new CoreNLPAnnotation(null, List.of(
+            new CoreNLPSentence(List.of(
+                    new CoreNLPToken("Airbus", "PROPN", "ORGANIZATION"),
+                    new CoreNLPToken("Helicopters", "PROPN", "ORGANIZATION")), 0, 18)));
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPAnnotationStore store;
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testShouldReadAnnotationsAfterRestart() throws IOException {
+        store = open(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+
+        assertNull(store.get(key(1)));
+
+        store.put(key(1), ANNOTATION);
+
+        assertEquals(ANNOTATION, store.get(key(1)));
+
+        store.close();
+        store = open(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+
+        assertEquals(1, store.size());
+        assertEquals(ANNOTATION, store.get(key(1)));
+        assertNull(store.get(key(2)));
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.store").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testShouldKeepOnlyReadAnnotationsWhenCompacting() throws IOException {
+        store = open(DataSize.ofKilobytes(4), DataSize.ofKilobytes(8));
+
+        for (int i = 0; i < 20; i++) {
+            store.put(key(i), ANNOTATION);
+        }
+
+        assertNotNull(store.get(key(0)));
+
+        // remplit plus de deux segments => compaction du premier
+        for (int i = 20; i < 100; i++) {
+            store.put(key(i), ANNOTATION);
+        }
+
+        assertTrue(store.diskSize() <= DataSize.ofKilobytes(8).toBytes());
+        assertTrue(meterRegistry.get("keywords.annotation.store.compactions").counter().count() > 0);
+
+        assertEquals(ANNOTATION, store.get(key(0)));
+        assertNull(store.get(key(1)));
+        assertEquals(ANNOTATION, store.get(key(99)));
+    }
+
+    @Test
+    void testShouldIgnoreIncompleteRecordOnRestart() throws IOException {
+        store = open(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+
+        store.put(key(1), ANNOTATION);
+        store.put(key(2), ANNOTATION);
+        store.close();
+
+        // écriture interrompue : CRC du second enregistrement invalide
+        try (FileChannel channel = FileChannel.open(directory.resolve("segment-00000000.dat"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int length = channel.map(FileChannel.MapMode.READ_ONLY, 0, Integer.BYTES).getInt();
+
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), 2L * 24 + length + 20);
+        }
+
+        store = open(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+
+        assertEquals(1, store.size());
+        assertEquals(ANNOTATION, store.get(key(1)));
+        assertNull(store.get(key(2)));
+
+        // l'enregistrement suivant remplace l'enregistrement incomplet
+        store.put(key(3), ANNOTATION);
+        store.close();
+        store = open(DataSize.ofKilobytes(4), DataSize.ofMegabytes(1));
+
+        assertEquals(ANNOTATION, store.get(key(3)));
+    }
+
+    @Test
+    void testShouldNotStoreWhenDisabled() throws IOException {
+        store = new CoreNLPAnnotationStore(new SimpleMeterRegistry());
+        store.init();
+
+        store.put(key(1), ANNOTATION);
+
+        assertNull(store.get(key(1)));
+        assertEquals(0, store.size());
+    }
+
+    private CoreNLPAnnotationStore open(DataSize segmentSize, DataSize maxSize) throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+
+        CoreNLPAnnotationStore opened = new CoreNLPAnnotationStore(meterRegistry);
+
+        ReflectionTestUtils.setField(opened, "enabled", true);
+        ReflectionTestUtils.setField(opened, "directory", directory);
+        ReflectionTestUtils.setField(opened, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(opened, "maxSize", maxSize);
+
+        opened.init();
+
+        return opened;
+    }
+
+    private static ContentKey key(int i) {
+        byte[] digest = new byte[32];
+
+        digest[0] = (byte) i;
+        digest[Long.BYTES] = (byte) (i >> 8);
+
+        return new ContentKey(digest);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPBatcherTest
+ *
+ * Tests pour service CoreNLPBatcher.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPBatcherTest {
+
+    private static final String FIRST = "Paris est belle.";
+
+    private static final String SECOND = "Londres aussi.";
+
+    // FIRST + CHUNK_SEPARATOR + SECOND : "Londres" commence à la position 18
+    private static final CoreNLPAnnotation BATCH_RESPONSE = CoreNLPHelper.parseAnnotation("""
+            {"sentences":[
+              {"index":0,"tokens":[
+                {"word":"Paris","ner":"CITY","characterOffsetBegin":0,"characterOffsetEnd":5},
+                {"word":".","ner":"O","characterOffsetBegin":15,"characterOffsetEnd":16}]},
+              {"index":1,"tokens":[
+                {"word":"Londres","ner":"CITY","characterOffsetBegin":18,"characterOffsetEnd":25},
+                {"word":".","ner":"O","characterOffsetBegin":31,"characterOffsetEnd":32}]}]}
+            """);
+
+    private static final CoreNLPAnnotation EMPTY = new CoreNLPAnnotation(null, List.of());
+
+    private CoreNLPClient coreNLPClient;
+
+    private ExecutorService annotateExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        coreNLPClient = mock(CoreNLPClient.class);
+        annotateExecutor = Executors.newSingleThreadExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+
+        batcher = new CoreNLPBatcher(coreNLPClient, annotateExecutor, meterRegistry);
+
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxSize", 2);
+        ReflectionTestUtils.setField(batcher, "linger", Duration.ofMillis(50));
+
+        batcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        annotateExecutor.shutdownNow();
+    }
+
+    @Test
+    void testShouldSendFullBatchInOneRequest() throws Exception {
+        when(coreNLPClient.annotateAsync(FIRST + CoreNLPBatcher.CHUNK_SEPARATOR + SECOND, "fr"))
+                .thenReturn(CompletableFuture.completedFuture(BATCH_RESPONSE));
+
+        CompletableFuture<CoreNLPAnnotation> first = batcher.submit(FIRST, "fr");
+
+        assertFalse(first.isDone());
+
+        CompletableFuture<CoreNLPAnnotation> second = batcher.submit(SECOND, "fr");
+
+        assertEquals("Paris", firstWord(first.get(1, TimeUnit.SECONDS)));
+        assertEquals("Londres", firstWord(second.get(1, TimeUnit.SECONDS)));
+
+        // positions recalées sur le chunk
+        assertEquals(0, second.get().getSentences().get(0).getBegin());
+
+        verify(coreNLPClient).annotateAsync(anyString(), anyString());
+        assertEquals(2.0, meterRegistry.get("keywords.corenlp.batch.size").summary().max());
+    }
+
+    @Test
+    void testShouldSendIncompleteBatchAfterLinger() throws Exception {
+        when(coreNLPClient.annotateAsync(FIRST, "fr"))
+                .thenReturn(CompletableFuture.completedFuture(EMPTY));
+
+        CompletableFuture<CoreNLPAnnotation> first = batcher.submit(FIRST, "fr");
+
+        assertSame(EMPTY, first.get(1, TimeUnit.SECONDS));
+        verify(coreNLPClient).annotateAsync(anyString(), anyString());
+    }
+
+    @Test
+    void testShouldNotMixLanguages() {
+        when(coreNLPClient.annotateAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(EMPTY));
+
+        batcher.submit(FIRST, "fr");
+        batcher.submit(SECOND, "en");
+
+        verify(coreNLPClient, timeout(1000)).annotateAsync(FIRST, "fr");
+        verify(coreNLPClient, timeout(1000)).annotateAsync(SECOND, "en");
+    }
+
+    @Test
+    void testShouldFailEveryChunkOfFailedBatch() {
+        CoreNLPServerException failure = new CoreNLPServerException("NLP down");
+
+        when(coreNLPClient.annotateAsync(anyString(), eq("fr")))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+
+        CompletableFuture<CoreNLPAnnotation> first = batcher.submit(FIRST, "fr");
+        CompletableFuture<CoreNLPAnnotation> second = batcher.submit(SECOND, "fr");
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void testShouldBeDisabledWithBatchSizeOfOne() {
+        ReflectionTestUtils.setField(batcher, "maxSize", 1);
+
+        assertFalse(batcher.isEnabled());
+
+        ReflectionTestUtils.setField(batcher, "maxSize", 2);
+
+        assertTrue(batcher.isEnabled());
+    }
+
+    private static String firstWord(CoreNLPAnnotation annotation) {
+        return annotation.getSentences().get(0).getTokens().get(0).getWord();
+    }
+}
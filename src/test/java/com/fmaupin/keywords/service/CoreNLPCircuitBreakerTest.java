@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.enumeration.CircuitStateEnum;
+import com.fmaupin.keywords.helper.LogCaptor;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBackpressure;
+import com.fmaupin.keywords.service.corenlp.CoreNLPCircuitBreaker;
+import com.fmaupin.keywords.service.corenlp.CoreNLPConcurrencyLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPCircuitBreakerTest
+ *
+ * Tests pour services CoreNLPCircuitBreaker et CoreNLPBackpressure.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPCircuitBreakerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPCircuitBreaker circuitBreaker;
+
+    @RegisterExtension
+    LogCaptor logCaptor = new LogCaptor(CoreNLPCircuitBreaker.class);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CoreNLPCircuitBreaker(meterRegistry);
+
+        ReflectionTestUtils.setField(circuitBreaker, "windowSize", 10);
+        ReflectionTestUtils.setField(circuitBreaker, "minimumCalls", 4);
+        ReflectionTestUtils.setField(circuitBreaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(circuitBreaker, "openDuration", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(circuitBreaker, "halfOpenCalls", 2);
+
+        circuitBreaker.init();
+    }
+
+    @Test
+    void testShouldStayClosedBelowMinimumCalls() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitStateEnum.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testShouldOpenWhenFailureRateIsReached() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitStateEnum.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitStateEnum.OPEN, circuitBreaker.getState());
+        assertEquals(1.0, meterRegistry.get("keywords.corenlp.circuit.state").gauge().value());
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("circuit breaker opened"));
+    }
+
+    @Test
+    void testShouldWaitWhileOpenThenAllowTrialCalls() throws InterruptedException {
+        open();
+
+        long start = System.nanoTime();
+
+        circuitBreaker.awaitPermission();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertEquals(CircuitStateEnum.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testShouldCloseAfterSuccessfulTrialCalls() throws InterruptedException {
+        open();
+
+        circuitBreaker.awaitPermission();
+        circuitBreaker.awaitPermission();
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitStateEnum.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testShouldReopenOnFailedTrialCall() throws InterruptedException {
+        open();
+
+        circuitBreaker.awaitPermission();
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitStateEnum.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testShouldLimitTrialCallsWhenHalfOpen() throws InterruptedException {
+        open();
+
+        circuitBreaker.awaitPermission();
+        circuitBreaker.awaitPermission();
+
+        CountDownLatch allowed = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            try {
+                circuitBreaker.awaitPermission();
+                allowed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        assertFalse(allowed.await(200, TimeUnit.MILLISECONDS));
+
+        // appel d'essai abandonné => place libérée
+        circuitBreaker.onCancel();
+
+        assertTrue(allowed.await(1, TimeUnit.SECONDS));
+
+        waiter.join();
+    }
+
+    @Test
+    void testBackpressureShouldResumeFromOpenWithoutChunkInFlight() throws InterruptedException {
+        CoreNLPConcurrencyLimiter limiter = new CoreNLPConcurrencyLimiter(meterRegistry);
+
+        ReflectionTestUtils.setField(limiter, "initialLimit", 2);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 2);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiter, "slowLatency", Duration.ofSeconds(10));
+
+        limiter.init();
+
+        CoreNLPBackpressure backpressure = new CoreNLPBackpressure(limiter, circuitBreaker, meterRegistry);
+
+        backpressure.init();
+
+        assertFalse(backpressure.isSaturated());
+
+        open();
+
+        assertTrue(backpressure.isSaturated());
+
+        // aucun chunk en cours : la fin de open-duration suffit à reprendre
+        backpressure.awaitCapacity();
+
+        assertEquals(CircuitStateEnum.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(0.0, meterRegistry.get("keywords.consumption.paused").gauge().value());
+
+        // chunks suivants => appels d'essai réussis => disjoncteur refermé
+        for (int i = 0; i < 2; i++) {
+            backpressure.awaitCapacity();
+            circuitBreaker.awaitPermission();
+            circuitBreaker.onSuccess();
+        }
+
+        assertEquals(CircuitStateEnum.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testShouldSignalHalfOpenAfterOpenDurationWithoutCalls() throws InterruptedException {
+        CountDownLatch changes = new CountDownLatch(2);
+
+        circuitBreaker.addStateListener(changes::countDown);
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        // ouverture puis passage en half-open planifié
+        assertTrue(changes.await(1, TimeUnit.SECONDS));
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("half-open"));
+
+        circuitBreaker.shutdown();
+    }
+
+    @Test
+    void testBackpressureShouldResumeWhenLimiterWaitersLeave() throws InterruptedException {
+        CoreNLPConcurrencyLimiter limiter = new CoreNLPConcurrencyLimiter(meterRegistry);
+
+        ReflectionTestUtils.setField(limiter, "initialLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 1);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiter, "slowLatency", Duration.ofSeconds(10));
+
+        limiter.init();
+
+        CoreNLPBackpressure backpressure = new CoreNLPBackpressure(limiter, circuitBreaker, meterRegistry);
+
+        backpressure.init();
+
+        limiter.acquire();
+
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        while (limiter.getWaiting() == 0) {
+            Thread.sleep(1);
+        }
+
+        CountDownLatch resumed = new CountDownLatch(1);
+
+        Thread listener = new Thread(() -> {
+            try {
+                backpressure.awaitCapacity();
+                resumed.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        listener.start();
+
+        assertFalse(resumed.await(200, TimeUnit.MILLISECONDS));
+
+        // appel terminé => l'appelant en attente obtient sa place
+        limiter.onSuccess(0L);
+
+        assertTrue(resumed.await(1, TimeUnit.SECONDS));
+
+        waiter.join();
+        listener.join();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        assertEquals(CircuitStateEnum.OPEN, circuitBreaker.getState());
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fmaupin.keywords.enumeration.CoreNLPClientModeEnum;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.service.corenlp.CoreNLPCircuitBreaker;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPConcurrencyLimiter;
+import com.fmaupin.keywords.service.corenlp.CoreNLPEndpoint;
+import com.fmaupin.keywords.service.corenlp.CoreNLPHedgingPolicy;
+import com.fmaupin.keywords.service.corenlp.CoreNLPLoadBalancer;
+import com.fmaupin.keywords.service.corenlp.CoreNLPProfiles;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * CoreNLPClientTest
+ *
+ * Tests pour service CoreNLPClient.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+@ExtendWith(MockitoExtension.class)
+class CoreNLPClientTest {
+
+    private static final CoreNLPAnnotation ANNOTATION = new CoreNLPAnnotation(null, List.of());
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPLoadBalancer loadBalancer;
+
+    private CoreNLPHedgingPolicy hedgingPolicy;
+
+    private CoreNLPConcurrencyLimiter limiter;
+
+    private CoreNLPCircuitBreaker circuitBreaker;
+
+    private CoreNLPClient coreNLPClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        loadBalancer = new CoreNLPLoadBalancer(meterRegistry);
+
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://fake-nlp"));
+        ReflectionTestUtils.setField(loadBalancer, "failureThreshold", 3);
+        ReflectionTestUtils.setField(loadBalancer, "slowThreshold", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(loadBalancer, "ejectionTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckTimeout", Duration.ofSeconds(1));
+
+        loadBalancer.init();
+
+        hedgingPolicy = new CoreNLPHedgingPolicy(loadBalancer, meterRegistry);
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", false);
+        ReflectionTestUtils.setField(hedgingPolicy, "percentile", 0.95);
+        ReflectionTestUtils.setField(hedgingPolicy, "minDelay", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(hedgingPolicy, "budget", 1.0);
+
+        hedgingPolicy.init();
+
+        limiter = new CoreNLPConcurrencyLimiter(meterRegistry);
+
+        ReflectionTestUtils.setField(limiter, "initialLimit", 2);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 64);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(limiter, "slowLatency", Duration.ofSeconds(10));
+
+        limiter.init();
+
+        circuitBreaker = new CoreNLPCircuitBreaker(meterRegistry);
+
+        ReflectionTestUtils.setField(circuitBreaker, "windowSize", 20);
+        ReflectionTestUtils.setField(circuitBreaker, "minimumCalls", 10);
+        ReflectionTestUtils.setField(circuitBreaker, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(circuitBreaker, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(circuitBreaker, "halfOpenCalls", 3);
+
+        circuitBreaker.init();
+
+        coreNLPClient = new CoreNLPClient(restTemplate, webClient(), loadBalancer, hedgingPolicy, limiter,
+                circuitBreaker, profiles(CoreNLPOutputFormatEnum.JSON));
+
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.BLOCKING);
+        ReflectionTestUtils.setField(coreNLPClient, "maxResponseSize", DataSize.ofMegabytes(64));
+
+        coreNLPClient.init();
+    }
+
+    @Test
+    void testShouldCallCoreNLPWithLanguage() throws Exception {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any())).thenReturn(ANNOTATION);
+
+        assertSame(ANNOTATION, coreNLPClient.annotate("texte", "fr"));
+
+        verify(restTemplate).execute(contains("http://fake-nlp/?properties="), eq(HttpMethod.POST), any(), any());
+        verify(restTemplate).execute(contains("%22fr%22"), eq(HttpMethod.POST), any(), any());
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.calls.active").gauge().value());
+    }
+
+    @Test
+    void testShouldReleaseCallSlotWhenCoreNLPFails() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceAccessException.class, () -> coreNLPClient.annotate("texte", "fr"));
+        }
+
+        assertEquals(3, loadBalancer.getEndpoints().get(0).getConsecutiveFailures());
+
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.calls.active").gauge().value());
+    }
+
+    @Test
+    void testShouldCallCoreNLPWithoutBlockingInReactiveMode() {
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        assertEquals("fr", firstWord(coreNLPClient.annotateAsync("texte", "fr").join()));
+
+        verifyNoInteractions(restTemplate);
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.calls.active").gauge().value());
+        assertEquals(1, meterRegistry.get("keywords.corenlp.endpoint.requests").tag("outcome", "success").timer()
+                .count());
+    }
+
+    @Test
+    void testShouldFailFutureAndReleaseCallSlotInReactiveMode() {
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<CoreNLPAnnotation> future = coreNLPClient.annotateAsync("texte", "xx");
+
+            assertThrows(CompletionException.class, future::join);
+        }
+
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.calls.active").gauge().value());
+    }
+
+    @Test
+    void testShouldRejectResponseLargerThanMaxResponseSizeInReactiveMode() {
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+        ReflectionTestUtils.setField(coreNLPClient, "maxResponseSize", DataSize.ofBytes(16));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> coreNLPClient.annotateAsync("texte", "fr").join());
+
+        assertInstanceOf(CoreNLPServerException.class, e.getCause());
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.calls.active").gauge().value());
+    }
+
+    @Test
+    void testShouldFailOnEmptyResponseInReactiveMode() {
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://empty-nlp"));
+        loadBalancer.init();
+
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> coreNLPClient.annotateAsync("texte", "fr").join());
+
+        assertInstanceOf(CoreNLPServerException.class, e.getCause());
+        assertEquals(1, loadBalancer.getEndpoints().get(0).getConsecutiveFailures());
+    }
+
+    @Test
+    void testShouldCompleteFutureOnCallerThreadInBlockingMode() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any())).thenReturn(ANNOTATION);
+
+        CompletableFuture<CoreNLPAnnotation> future = coreNLPClient.annotateAsync("texte", "fr");
+
+        assertTrue(future.isDone());
+        assertSame(ANNOTATION, future.join());
+    }
+
+    @Test
+    void testShouldParseResponseFromHttpStream() {
+        byte[] body = "{\"sentences\":[{\"tokens\":[{\"word\":\"Paris\",\"lemma\":\"Paris\",\"pos\":\"NNP\",\"ner\":\"CITY\",\"characterOffsetBegin\":0,\"characterOffsetEnd\":5}]}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(body, HttpStatus.OK)));
+
+        CoreNLPAnnotation annotation = coreNLPClient.annotate("Paris", "fr");
+
+        assertEquals("Paris", firstWord(annotation));
+        assertEquals("CITY", annotation.getSentences().get(0).getTokens().get(0).getNer());
+        assertEquals(5, annotation.getSentences().get(0).getEnd());
+    }
+
+    @Test
+    void testShouldRequestAndParseConllOutput() {
+        coreNLPClient = new CoreNLPClient(restTemplate, webClient(), loadBalancer, hedgingPolicy, limiter,
+                circuitBreaker, profiles(CoreNLPOutputFormatEnum.CONLL));
+
+        byte[] body = "Paris\tPROPN\tCITY\nest\tAUX\tO\n.\tPUNCT\tO\n\n".getBytes(StandardCharsets.UTF_8);
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any()))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(body, HttpStatus.OK)));
+
+        CoreNLPAnnotation annotation = coreNLPClient.annotate("Paris est.", "fr");
+
+        assertEquals("CITY", annotation.getSentences().get(0).getTokens().get(0).getNer());
+        assertEquals(0, annotation.getSentences().get(0).getBegin());
+        assertEquals(10, annotation.getSentences().get(0).getEnd());
+
+        verify(restTemplate).execute(contains("outputFormat%22%3A%22conll%22"), eq(HttpMethod.POST), any(), any());
+    }
+
+    @Test
+    void testShouldBreakSentencesOnBlankLinesForEveryRequest() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any())).thenReturn(ANNOTATION);
+
+        assertSame(ANNOTATION, coreNLPClient.annotateAsync("un.\n\ndeux.", "fr").join());
+
+        verify(restTemplate).execute(contains("newlineIsSentenceBreak%22%3A%22two%22"), eq(HttpMethod.POST), any(), any());
+    }
+
+    @Test
+    void testShouldHedgeSlowRequestToAnotherEndpoint() {
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://slow-nlp", "http://fast-nlp"));
+        loadBalancer.init();
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        assertEquals("fr", firstWord(coreNLPClient.annotateAsync("texte", "fr").join()));
+
+        assertEquals(1.0, meterRegistry.get("keywords.corenlp.hedging").tag("result", "won").counter().count());
+
+        // la requête perdante est annulée
+        loadBalancer.getEndpoints().forEach(endpoint -> assertEquals(0, endpoint.getOutstanding()));
+
+        // ... et sa durée comptée comme latence du serveur lent
+        CoreNLPEndpoint slow = loadBalancer.getEndpoints().stream()
+                .filter(endpoint -> endpoint.getUrl().contains("slow-nlp"))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(slow.getEwmaNanos() >= Duration.ofMillis(20).toNanos());
+        assertEquals(2, meterRegistry.get("keywords.corenlp.latency").timer().count());
+    }
+
+    @Test
+    void testShouldKeepHedgeRunningWhenPrimaryFails() {
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://failing-nlp", "http://fast-nlp"));
+        loadBalancer.init();
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        assertEquals("fr", firstWord(coreNLPClient.annotateAsync("texte", "fr").join()));
+
+        assertEquals(1.0, meterRegistry.get("keywords.corenlp.hedging").tag("result", "won").counter().count());
+    }
+
+    @Test
+    void testShouldFailWithPrimaryErrorWhenHedgeFailsToo() {
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://nlp-1", "http://nlp-2"));
+        loadBalancer.init();
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+        ReflectionTestUtils.setField(coreNLPClient, "mode", CoreNLPClientModeEnum.REACTIVE);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> coreNLPClient.annotateAsync("texte", "xx").join());
+
+        assertInstanceOf(WebClientResponseException.class, ex.getCause());
+        loadBalancer.getEndpoints().forEach(endpoint -> assertEquals(0, endpoint.getOutstanding()));
+    }
+
+    @Test
+    void testShouldHedgeInBlockingMode() {
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://slow-nlp", "http://fast-nlp"));
+        loadBalancer.init();
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+
+        assertEquals("fr", firstWord(coreNLPClient.annotate("texte", "fr")));
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    private static CoreNLPProfiles profiles(CoreNLPOutputFormatEnum format) {
+        CoreNLPProfiles profiles = new CoreNLPProfiles(new MockEnvironment());
+
+        ReflectionTestUtils.setField(profiles, "annotators", List.of("tokenize", "ssplit", "pos", "ner"));
+        ReflectionTestUtils.setField(profiles, "options", List.of("ner.useSUTime=false"));
+        ReflectionTestUtils.setField(profiles, "languages", List.of("fr", "en"));
+        ReflectionTestUtils.setField(profiles, "outputFormat", format);
+
+        profiles.init();
+
+        return profiles;
+    }
+
+    private static String firstWord(CoreNLPAnnotation annotation) {
+        return annotation.getSentences().get(0).getTokens().get(0).getWord();
+    }
+
+    /**
+     * WebClient simulé : renvoie la langue demandée (seul mot de la réponse), erreur 500 pour la langue
+     * "xx", le serveur "slow-nlp" ne répond pas, le serveur "failing-nlp"
+     * répond toujours par une erreur 500, le serveur "empty-nlp" par une
+     * réponse sans corps.
+     */
+    private WebClient webClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    if ("slow-nlp".equals(request.url().getHost())) {
+                        return Mono.never();
+                    }
+
+                    if ("failing-nlp".equals(request.url().getHost())) {
+                        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    }
+
+                    if ("empty-nlp".equals(request.url().getHost())) {
+                        return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                    }
+
+                    String query = URLDecoder.decode(request.url().getRawQuery(), StandardCharsets.UTF_8);
+
+                    if (query.contains("\"xx\"")) {
+                        return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                    }
+
+                    String lang = query.contains("\"fr\"") ? "fr" : "en";
+
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"sentences\":[{\"index\":0,\"tokens\":[{\"index\":1,\"word\":\"" + lang
+                                    + "\",\"lemma\":\"" + lang + "\",\"pos\":\"NN\",\"ner\":\"O\"}]}]}")
+                            .build());
+                })
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.service.corenlp.CoreNLPConcurrencyLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPConcurrencyLimiterTest
+ *
+ * Tests pour service CoreNLPConcurrencyLimiter.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new CoreNLPConcurrencyLimiter(meterRegistry);
+
+        ReflectionTestUtils.setField(limiter, "initialLimit", 4);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 5);
+        ReflectionTestUtils.setField(limiter, "backoffRatio", 0.5);
+        ReflectionTestUtils.setField(limiter, "slowLatency", Duration.ofSeconds(1));
+
+        limiter.init();
+    }
+
+    @Test
+    void testShouldIncreaseLimitWhenBusyAndFast() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        limiter.onSuccess(Duration.ofMillis(10).toNanos());
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(3, limiter.getInFlight());
+
+        // limite maximum atteinte
+        limiter.onSuccess(Duration.ofMillis(10).toNanos());
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(5.0, meterRegistry.get("keywords.corenlp.limit").gauge().value());
+    }
+
+    @Test
+    void testShouldNotIncreaseLimitWhenIdle() throws InterruptedException {
+        limiter.acquire();
+        limiter.onSuccess(Duration.ofMillis(10).toNanos());
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void testShouldDecreaseLimitOnFailure() throws InterruptedException {
+        limiter.acquire();
+        limiter.onFailure();
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testShouldDecreaseLimitOnSlowCall() throws InterruptedException {
+        limiter.acquire();
+        limiter.onSuccess(Duration.ofSeconds(2).toNanos());
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testShouldNotDecreaseBelowMinLimit() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.onFailure();
+        }
+
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    void testShouldBlockAtLimitUntilCallCompletes() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, limiter.getWaiting());
+        assertEquals(1.0, meterRegistry.get("keywords.corenlp.calls.waiting").gauge().value());
+
+        limiter.onCancel();
+
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+        assertEquals(0, limiter.getWaiting());
+        assertEquals(4, limiter.getInFlight());
+
+        waiter.join();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.helper.LogCaptor;
+import com.fmaupin.keywords.service.corenlp.CoreNLPEndpoint;
+import com.fmaupin.keywords.service.corenlp.CoreNLPHedgingPolicy;
+import com.fmaupin.keywords.service.corenlp.CoreNLPLoadBalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPHedgingPolicyTest
+ *
+ * Tests pour service CoreNLPHedgingPolicy.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPHedgingPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPLoadBalancer loadBalancer;
+
+    private CoreNLPHedgingPolicy hedgingPolicy;
+
+    @RegisterExtension
+    LogCaptor logCaptor = new LogCaptor(CoreNLPHedgingPolicy.class);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loadBalancer = mock(CoreNLPLoadBalancer.class);
+
+        when(loadBalancer.getEndpoints()).thenReturn(List.of(
+                new CoreNLPEndpoint("http://nlp-1:9000/", meterRegistry),
+                new CoreNLPEndpoint("http://nlp-2:9000/", meterRegistry)));
+
+        hedgingPolicy = new CoreNLPHedgingPolicy(loadBalancer, meterRegistry);
+
+        ReflectionTestUtils.setField(hedgingPolicy, "enabled", true);
+        ReflectionTestUtils.setField(hedgingPolicy, "percentile", 0.5);
+        ReflectionTestUtils.setField(hedgingPolicy, "minDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(hedgingPolicy, "maxDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(hedgingPolicy, "budget", 0.25);
+
+        hedgingPolicy.init();
+    }
+
+    @Test
+    void testShouldBoundHedgedRequestsWithBudget() {
+        int hedged = 0;
+
+        for (int i = 0; i < 100; i++) {
+            hedgingPolicy.onRequest();
+
+            if (hedgingPolicy.tryAcquire()) {
+                hedged++;
+            }
+        }
+
+        assertEquals(25, hedged);
+        assertEquals(25.0, meterRegistry.get("keywords.corenlp.hedging").tag("result", "sent").counter().count());
+        assertEquals(75.0, meterRegistry.get("keywords.corenlp.hedging").tag("result", "denied").counter().count());
+    }
+
+    @Test
+    void testShouldUseMaxDelayWithoutLatency() {
+        assertEquals(Duration.ofSeconds(5), hedgingPolicy.delay());
+    }
+
+    @Test
+    void testShouldUseLatencyPercentileAsDelay() {
+        for (int i = 0; i < 100; i++) {
+            hedgingPolicy.recordLatency(Duration.ofMillis(200).toNanos());
+        }
+
+        Duration delay = hedgingPolicy.delay();
+
+        assertThat(delay).isBetween(Duration.ofMillis(150), Duration.ofMillis(250));
+    }
+
+    @Test
+    void testShouldBoundDelayWithMinDelay() {
+        for (int i = 0; i < 100; i++) {
+            hedgingPolicy.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(50), hedgingPolicy.delay());
+    }
+
+    @Test
+    void testShouldDisableHedgingWithSingleEndpoint() {
+        assertTrue(hedgingPolicy.isEnabled());
+
+        when(loadBalancer.getEndpoints()).thenReturn(List.of(new CoreNLPEndpoint("http://nlp:9000/", meterRegistry)));
+
+        hedgingPolicy.init();
+
+        assertFalse(hedgingPolicy.isEnabled());
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("hedging disabled"));
+    }
+}
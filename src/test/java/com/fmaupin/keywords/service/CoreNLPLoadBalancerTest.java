@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fmaupin.keywords.helper.LogCaptor;
+import com.fmaupin.keywords.service.corenlp.CoreNLPEndpoint;
+import com.fmaupin.keywords.service.corenlp.CoreNLPLoadBalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPLoadBalancerTest
+ *
+ * Tests pour service CoreNLPLoadBalancer.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPLoadBalancerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPLoadBalancer loadBalancer;
+
+    private CoreNLPEndpoint first;
+
+    private CoreNLPEndpoint second;
+
+    @RegisterExtension
+    LogCaptor logCaptor = new LogCaptor(CoreNLPLoadBalancer.class);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loadBalancer = new CoreNLPLoadBalancer(meterRegistry);
+
+        ReflectionTestUtils.setField(loadBalancer, "urls", List.of("http://nlp-1:9000/", "http://nlp-2:9000"));
+        ReflectionTestUtils.setField(loadBalancer, "failureThreshold", 2);
+        ReflectionTestUtils.setField(loadBalancer, "slowThreshold", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(loadBalancer, "ejectionTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(loadBalancer, "healthCheckTimeout", Duration.ofSeconds(1));
+
+        loadBalancer.init();
+
+        first = loadBalancer.getEndpoints().get(0);
+        second = loadBalancer.getEndpoints().get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadBalancer.shutdown();
+    }
+
+    @Test
+    void testShouldNormalizeEndpointUrls() {
+        assertEquals("http://nlp-1:9000/", first.getUrl());
+        assertEquals("http://nlp-2:9000/", second.getUrl());
+    }
+
+    @Test
+    void testShouldRouteToLeastOutstandingEndpoint() {
+        CoreNLPEndpoint a = loadBalancer.choose();
+        CoreNLPEndpoint b = loadBalancer.choose();
+
+        assertNotSame(a, b);
+        assertEquals(1, first.getOutstanding());
+        assertEquals(1, second.getOutstanding());
+
+        loadBalancer.onSuccess(a, 10 * MS);
+        loadBalancer.onCancel(b);
+
+        assertEquals(0, first.getOutstanding());
+        assertEquals(0, second.getOutstanding());
+    }
+
+    @Test
+    void testShouldPreferFasterEndpoint() {
+        loadBalancer.onSuccess(loadBalancer.choose(List.of(second)), 500 * MS);
+        loadBalancer.onSuccess(loadBalancer.choose(List.of(first)), 20 * MS);
+
+        // le serveur rapide reste moins coûteux malgré quelques requêtes en cours
+        CoreNLPEndpoint chosen = loadBalancer.choose();
+        CoreNLPEndpoint next = loadBalancer.choose();
+
+        assertSame(second, chosen);
+        assertSame(second, next);
+    }
+
+    @Test
+    void testShouldEjectEndpointAfterConsecutiveFailures() {
+        loadBalancer.onFailure(loadBalancer.choose(List.of(second)), 5 * MS);
+        loadBalancer.onFailure(loadBalancer.choose(List.of(second)), 5 * MS);
+
+        assertTrue(first.isEjected(System.nanoTime()));
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(second, loadBalancer.choose());
+        }
+
+        assertEquals(2.0, meterRegistry.get("keywords.corenlp.endpoint.requests")
+                .tag("endpoint", first.getUrl())
+                .tag("outcome", "error")
+                .timer()
+                .count());
+        assertEquals(0.0, meterRegistry.get("keywords.corenlp.endpoint.available")
+                .tag("endpoint", first.getUrl())
+                .gauge()
+                .value());
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("ejected"));
+    }
+
+    @Test
+    void testShouldEjectSlowEndpoint() {
+        loadBalancer.onSuccess(loadBalancer.choose(List.of(first)), 5_000 * MS);
+
+        assertTrue(second.isEjected(System.nanoTime()));
+        assertSame(first, loadBalancer.choose());
+    }
+
+    @Test
+    void testShouldFallBackToEjectedEndpointsWhenNoneIsAvailable() {
+        for (int i = 0; i < 2; i++) {
+            loadBalancer.onFailure(loadBalancer.choose(List.of(second)), MS);
+            loadBalancer.onFailure(loadBalancer.choose(List.of(first)), MS);
+        }
+
+        assertTrue(first.isEjected(System.nanoTime()));
+        assertTrue(second.isEjected(System.nanoTime()));
+
+        CoreNLPEndpoint chosen = loadBalancer.choose();
+
+        assertTrue(chosen == first || chosen == second);
+    }
+
+    @Test
+    void testShouldEjectAndReinstateEndpointsWithHealthCheck() {
+        RestTemplate probeTemplate = mock(RestTemplate.class);
+        ReflectionTestUtils.setField(loadBalancer, "probeTemplate", probeTemplate);
+
+        when(probeTemplate.getForEntity(startsWith(first.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+        when(probeTemplate.getForEntity(startsWith(second.getUrl()), eq(String.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        loadBalancer.probe();
+
+        assertFalse(first.isEjected(System.nanoTime()));
+        assertTrue(second.isEjected(System.nanoTime()));
+
+        when(probeTemplate.getForEntity(startsWith(second.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+
+        loadBalancer.probe();
+
+        assertFalse(second.isEjected(System.nanoTime()));
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("reinstated"));
+    }
+
+    @Test
+    void testShouldSeedReinstatedEndpointWithPeerLatency() {
+        RestTemplate probeTemplate = mock(RestTemplate.class);
+        ReflectionTestUtils.setField(loadBalancer, "probeTemplate", probeTemplate);
+
+        loadBalancer.onSuccess(loadBalancer.choose(List.of(second)), 20 * MS);
+
+        when(probeTemplate.getForEntity(startsWith(first.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+        when(probeTemplate.getForEntity(startsWith(second.getUrl()), eq(String.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        loadBalancer.probe();
+
+        when(probeTemplate.getForEntity(startsWith(second.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+
+        loadBalancer.probe();
+
+        assertFalse(second.isEjected(System.nanoTime()));
+        assertEquals(20.0 * MS, second.getEwmaNanos());
+    }
+
+    @Test
+    void testShouldNotReinstateSlowEndpointBeforeEjectionTime() {
+        RestTemplate probeTemplate = mock(RestTemplate.class);
+        ReflectionTestUtils.setField(loadBalancer, "probeTemplate", probeTemplate);
+
+        when(probeTemplate.getForEntity(startsWith(first.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+        when(probeTemplate.getForEntity(startsWith(second.getUrl()), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ready"));
+
+        loadBalancer.onSuccess(loadBalancer.choose(List.of(first)), 5_000 * MS);
+
+        // le serveur lent répond à la sonde mais reste éjecté
+        loadBalancer.probe();
+
+        assertTrue(second.isEjected(System.nanoTime()));
+        assertEquals(5_000.0 * MS, second.getEwmaNanos());
+        assertSame(first, loadBalancer.choose());
+    }
+
+    @Test
+    void testShouldRequireAtLeastOneEndpoint() {
+        CoreNLPLoadBalancer empty = new CoreNLPLoadBalancer(meterRegistry);
+
+        ReflectionTestUtils.setField(empty, "urls", List.of(" "));
+
+        assertThrows(IllegalStateException.class, empty::init);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fmaupin.keywords.enumeration.CoreNLPOutputFormatEnum;
+import com.fmaupin.keywords.model.corenlp.CoreNLPProfile;
+import com.fmaupin.keywords.service.corenlp.CoreNLPProfiles;
+
+/**
+ * CoreNLPProfilesTest
+ *
+ * Tests pour service CoreNLPProfiles.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPProfilesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private MockEnvironment environment;
+
+    private CoreNLPProfiles profiles;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("coreNLP.profile.fr.options", "ner.applyFineGrained=false")
+                .withProperty("coreNLP.profile.de.annotators", "tokenize,ssplit,ner");
+
+        profiles = new CoreNLPProfiles(environment);
+
+        ReflectionTestUtils.setField(profiles, "annotators", List.of("tokenize", "ssplit", "pos", "ner"));
+        ReflectionTestUtils.setField(profiles, "options",
+                List.of("ner.useSUTime=false", "ner.applyNumericClassifiers=false"));
+        ReflectionTestUtils.setField(profiles, "languages", List.of("fr", "en"));
+        ReflectionTestUtils.setField(profiles, "outputFormat", CoreNLPOutputFormatEnum.JSON);
+
+        profiles.init();
+    }
+
+    @Test
+    void testShouldBuildPropertiesFromCommonProfile() throws Exception {
+        Map<String, String> properties = decode(profiles.get("en").getProperties());
+
+        assertEquals("tokenize,ssplit,pos,ner", properties.get("annotators"));
+        assertEquals("json", properties.get("outputFormat"));
+        assertEquals("en", properties.get("tokenize.language"));
+        assertEquals("false", properties.get("ner.useSUTime"));
+        assertFalse(properties.containsKey("ner.applyFineGrained"));
+    }
+
+    @Test
+    void testShouldAddLanguageOptions() throws Exception {
+        Map<String, String> properties = decode(profiles.get("fr").getProperties());
+
+        assertEquals("false", properties.get("ner.applyFineGrained"));
+        assertEquals("false", properties.get("ner.applyNumericClassifiers"));
+    }
+
+    @Test
+    void testShouldBreakSentencesOnBlankLines() throws Exception {
+        CoreNLPProfile profile = profiles.get("fr");
+
+        assertEquals("two", decode(profile.getProperties()).get("ssplit.newlineIsSentenceBreak"));
+
+        // option prise en compte par la clé du cache d'annotations
+        assertEquals("two", profile.getOptions().get("ssplit.newlineIsSentenceBreak"));
+    }
+
+    @Test
+    void testShouldBuildProfileOfOtherLanguageOnFirstUse() {
+        CoreNLPProfile profile = profiles.get("de");
+
+        assertEquals(List.of("tokenize", "ssplit", "ner"), profile.getAnnotators());
+        assertSame(profile, profiles.get("de"));
+    }
+
+    @Test
+    void testShouldRequestConllColumns() throws Exception {
+        ReflectionTestUtils.setField(profiles, "outputFormat", CoreNLPOutputFormatEnum.CONLL);
+
+        Map<String, String> properties = decode(profiles.get("es").getProperties());
+
+        assertEquals("conll", properties.get("outputFormat"));
+        assertEquals("word,pos,ner", properties.get("output.columns"));
+    }
+
+    @Test
+    void testShouldRejectInvalidOption() {
+        environment.setProperty("coreNLP.profile.it.options", "ner.useSUTime");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> profiles.get("it"));
+
+        assertTrue(ex.getMessage().contains("ner.useSUTime"));
+    }
+
+    private Map<String, String> decode(String properties) throws Exception {
+        return mapper.readValue(URLDecoder.decode(properties, StandardCharsets.UTF_8),
+                new TypeReference<Map<String, String>>() {
+                });
+    }
+}
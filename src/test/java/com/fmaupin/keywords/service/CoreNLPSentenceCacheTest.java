@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceCache;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPSentenceCacheTest
+ *
+ * Tests pour service CoreNLPSentenceCache.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPSentenceCacheTest {
+
+    private static final String FIRST = "Paris est belle.";
+
+    private static final String SECOND = "Londres aussi.";
+
+    private static final String THIRD = "Rome encore.";
+
+    // FIRST + CHUNK_SEPARATOR + SECOND : "Londres" commence à la position 18
+    private static final CoreNLPAnnotation FIRST_RESPONSE = CoreNLPHelper.parseAnnotation("""
+            {"sentences":[
+              {"index":0,"tokens":[
+                {"word":"Paris","ner":"CITY","characterOffsetBegin":0,"characterOffsetEnd":5},
+                {"word":".","ner":"O","characterOffsetBegin":15,"characterOffsetEnd":16}]},
+              {"index":1,"tokens":[
+                {"word":"Londres","ner":"CITY","characterOffsetBegin":18,"characterOffsetEnd":25},
+                {"word":".","ner":"O","characterOffsetBegin":31,"characterOffsetEnd":32}]}]}
+            """);
+
+    private static final CoreNLPAnnotation THIRD_RESPONSE = CoreNLPHelper.parseAnnotation("""
+            {"sentences":[
+              {"index":0,"tokens":[
+                {"word":"Rome","ner":"CITY","characterOffsetBegin":0,"characterOffsetEnd":4},
+                {"word":".","ner":"O","characterOffsetBegin":11,"characterOffsetEnd":12}]}]}
+            """);
+
+    private CoreNLPClient coreNLPClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPSentenceCache sentenceCache;
+
+    @BeforeEach
+    void setUp() {
+        coreNLPClient = mock(CoreNLPClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        // une requête par appel (pas de taille maximum), regroupement désactivé
+        CoreNLPSplitter splitter = new CoreNLPSplitter(coreNLPClient, mock(CoreNLPBatcher.class),
+                mock(ExecutorService.class), meterRegistry);
+        splitter.init();
+
+        sentenceCache = new CoreNLPSentenceCache(splitter, meterRegistry);
+
+        ReflectionTestUtils.setField(sentenceCache, "enabled", true);
+        ReflectionTestUtils.setField(sentenceCache, "maxMemory", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(sentenceCache, "ttl", Duration.ofHours(1));
+
+        sentenceCache.init();
+
+        when(coreNLPClient.annotateAsync(FIRST + CoreNLPBatcher.CHUNK_SEPARATOR + SECOND, "fr"))
+                .thenReturn(CompletableFuture.completedFuture(FIRST_RESPONSE));
+    }
+
+    @Test
+    void testShouldAnnotateChunkSentenceBySentence() {
+        CoreNLPAnnotation annotation = sentenceCache.annotate(FIRST + " " + SECOND, "fr").join();
+
+        assertEquals(List.of("Paris", "Londres"), firstWords(annotation));
+
+        // positions recalées sur le chunk
+        assertEquals(List.of(0, 17), begins(annotation));
+    }
+
+    @Test
+    void testShouldSendOnlyUnknownSentences() {
+        sentenceCache.annotate(FIRST + " " + SECOND, "fr").join();
+
+        when(coreNLPClient.annotateAsync(THIRD, "fr"))
+                .thenReturn(CompletableFuture.completedFuture(THIRD_RESPONSE));
+
+        CoreNLPAnnotation annotation = sentenceCache.annotate("\n" + SECOND + "\n" + THIRD, "fr").join();
+
+        assertEquals(List.of("Londres", "Rome"), firstWords(annotation));
+        assertEquals(List.of(1, 16), begins(annotation));
+
+        assertEquals(1.0, meterRegistry.get("keywords.corenlp.sentence.cache").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(SECOND.length(), meterRegistry.get("keywords.corenlp.sentence.cache.chars")
+                .tag("result", "saved").counter().count());
+    }
+
+    @Test
+    void testShouldNotCallCoreNLPWhenAllSentencesAreCached() {
+        sentenceCache.annotate(FIRST + " " + SECOND, "fr").join();
+
+        CoreNLPAnnotation annotation = sentenceCache.annotate(SECOND + " " + FIRST, "fr").join();
+
+        assertEquals(List.of("Londres", "Paris"), firstWords(annotation));
+        assertEquals(List.of(0, 15), begins(annotation));
+
+        // requête du premier chunk uniquement
+        verify(coreNLPClient).annotateAsync(any(), any());
+    }
+
+    private static List<String> firstWords(CoreNLPAnnotation annotation) {
+        return annotation.getSentences().stream().map(s -> s.getTokens().get(0).getWord()).toList();
+    }
+
+    private static List<Integer> begins(CoreNLPAnnotation annotation) {
+        return annotation.getSentences().stream().map(CoreNLPSentence::getBegin).toList();
+    }
+}
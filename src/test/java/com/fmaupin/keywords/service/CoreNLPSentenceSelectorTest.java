@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.helper.CoreNLPHelper;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceSelector;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPSentenceSelectorTest
+ *
+ * Tests pour service CoreNLPSentenceSelector.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPSentenceSelectorTest {
+
+    private static final String TEXT = "Il voit Paris. Rien ici. Rien encore. Il voit Lyon.";
+
+    // "Il voit Lyon." commence à la position 38 du texte
+    private static final String REQUEST = "Il voit Paris." + CoreNLPBatcher.CHUNK_SEPARATOR + "Il voit Lyon.";
+
+    private static final CoreNLPAnnotation RESPONSE = CoreNLPHelper.parseAnnotation("""
+            {"sentences":[
+              {"index":0,"tokens":[
+                {"word":"Il","ner":"O","characterOffsetBegin":0,"characterOffsetEnd":2},
+                {"word":"Paris","ner":"CITY","characterOffsetBegin":8,"characterOffsetEnd":13}]},
+              {"index":1,"tokens":[
+                {"word":"Il","ner":"O","characterOffsetBegin":16,"characterOffsetEnd":18},
+                {"word":"Lyon","ner":"CITY","characterOffsetBegin":24,"characterOffsetEnd":28}]}]}
+            """);
+
+    private CoreNLPClient coreNLPClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPSentenceSelector sentenceSelector;
+
+    @BeforeEach
+    void setUp() {
+        coreNLPClient = mock(CoreNLPClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        // une requête par appel (pas de taille maximum), regroupement désactivé
+        CoreNLPSplitter splitter = new CoreNLPSplitter(coreNLPClient, mock(CoreNLPBatcher.class),
+                mock(ExecutorService.class), meterRegistry);
+        splitter.init();
+
+        sentenceSelector = new CoreNLPSentenceSelector(splitter, meterRegistry);
+
+        ReflectionTestUtils.setField(sentenceSelector, "enabled", true);
+        ReflectionTestUtils.setField(sentenceSelector, "contextWindow", 0);
+
+        sentenceSelector.init();
+    }
+
+    @Test
+    void testShouldSendOnlyCandidateSentences() {
+        when(coreNLPClient.annotateAsync(REQUEST, "fr"))
+                .thenReturn(CompletableFuture.completedFuture(RESPONSE));
+
+        CoreNLPAnnotation annotation = sentenceSelector.annotate(TEXT, "fr").join();
+
+        // positions recalées sur le chunk, texte complet conservé
+        assertEquals(List.of(0, 38), begins(annotation));
+        assertEquals(TEXT, annotation.getText());
+
+        assertEquals(2.0, meterRegistry.get("keywords.corenlp.sentence.selector").tag("result", "sent")
+                .counter().count());
+        assertEquals(2.0, meterRegistry.get("keywords.corenlp.sentence.selector").tag("result", "dropped")
+                .counter().count());
+    }
+
+    @Test
+    void testShouldSendNeighbourSentencesWithContextWindow() {
+        ReflectionTestUtils.setField(sentenceSelector, "contextWindow", 1);
+
+        String text = "Ce texte est court. Il parle de Paris. Rien de plus ici. Fin du texte.";
+
+        when(coreNLPClient.annotateAsync(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new CoreNLPAnnotation(null, List.of())));
+
+        sentenceSelector.annotate(text, "fr").join();
+
+        // un seul passage : requête simple
+        verify(coreNLPClient).annotateAsync("Ce texte est court. Il parle de Paris. Rien de plus ici.", "fr");
+    }
+
+    @Test
+    void testShouldSendWholeTextWhenEverySentenceIsSelected() {
+        ReflectionTestUtils.setField(sentenceSelector, "contextWindow", 1);
+
+        CoreNLPAnnotation response = new CoreNLPAnnotation(TEXT, List.of());
+
+        when(coreNLPClient.annotateAsync(TEXT, "fr")).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertEquals(response, sentenceSelector.annotate(TEXT, "fr").join());
+
+        verify(coreNLPClient).annotateAsync(any(), any());
+    }
+
+    @Test
+    void testShouldNotCallCoreNLPWithoutCandidateSentence() {
+        String text = "Rien de plus ici. Fin du texte.";
+
+        CoreNLPAnnotation annotation = sentenceSelector.annotate(text, "fr").join();
+
+        assertTrue(annotation.getSentences().isEmpty());
+        assertEquals(text, annotation.getText());
+
+        verify(coreNLPClient, never()).annotateAsync(any(), any());
+    }
+
+    @Test
+    void testShouldSplitOversizedSelection() {
+        ExecutorService annotateExecutor = Executors.newSingleThreadExecutor();
+
+        try {
+            CoreNLPSplitter splitter = new CoreNLPSplitter(coreNLPClient, mock(CoreNLPBatcher.class),
+                    annotateExecutor, meterRegistry);
+            ReflectionTestUtils.setField(splitter, "maxChars", 20);
+            splitter.init();
+
+            ReflectionTestUtils.setField(sentenceSelector, "coreNLPSplitter", splitter);
+
+            when(coreNLPClient.annotateAsync(any(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(new CoreNLPAnnotation(null, List.of())));
+
+            sentenceSelector.annotate("Il voit Paris. Il voit Lyon.", "fr").join();
+
+            // aucune requête au-delà de max-chars
+            verify(coreNLPClient).annotateAsync("Il voit Paris. ", "fr");
+            verify(coreNLPClient).annotateAsync("Il voit Lyon.", "fr");
+        } finally {
+            annotateExecutor.shutdownNow();
+        }
+    }
+
+    private static List<Integer> begins(CoreNLPAnnotation annotation) {
+        return annotation.getSentences().stream().map(CoreNLPSentence::getBegin).toList();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.exception.CoreNLPServerException;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CoreNLPSplitterTest
+ *
+ * Tests pour service CoreNLPSplitter.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class CoreNLPSplitterTest {
+
+    private static final String FIRST = "Paris est belle. ";
+
+    private static final String SECOND = "Londres aussi.";
+
+    private CoreNLPClient coreNLPClient;
+
+    private CoreNLPBatcher coreNLPBatcher;
+
+    private ExecutorService annotateExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CoreNLPSplitter splitter;
+
+    @BeforeEach
+    void setUp() {
+        coreNLPClient = mock(CoreNLPClient.class);
+        coreNLPBatcher = mock(CoreNLPBatcher.class);
+        annotateExecutor = Executors.newFixedThreadPool(2);
+        meterRegistry = new SimpleMeterRegistry();
+
+        splitter = new CoreNLPSplitter(coreNLPClient, coreNLPBatcher, annotateExecutor, meterRegistry);
+
+        ReflectionTestUtils.setField(splitter, "maxChars", 20);
+
+        splitter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        annotateExecutor.shutdownNow();
+    }
+
+    @Test
+    void testShouldDetectOversizedText() {
+        assertFalse(splitter.isOversized(SECOND));
+        assertTrue(splitter.isOversized(FIRST + SECOND));
+
+        ReflectionTestUtils.setField(splitter, "maxChars", 0);
+
+        assertFalse(splitter.isOversized(FIRST + SECOND));
+    }
+
+    @Test
+    void testShouldAnnotateBlocksAndMergeResponses() throws Exception {
+        when(coreNLPClient.annotateAsync(FIRST, "fr")).thenReturn(CompletableFuture.completedFuture(
+                sentence("Paris", 0, 5)));
+        when(coreNLPClient.annotateAsync(SECOND, "fr")).thenReturn(CompletableFuture.completedFuture(
+                sentence("Londres", 0, 7)));
+
+        List<CoreNLPSentence> sentences = splitter.annotate(FIRST + SECOND, "fr").get(1, TimeUnit.SECONDS)
+                .getSentences();
+
+        assertEquals(2, sentences.size());
+        assertEquals("Paris", sentences.get(0).getTokens().get(0).getWord());
+        assertEquals("Londres", sentences.get(1).getTokens().get(0).getWord());
+
+        // position de "Londres" dans le chunk complet
+        assertEquals(FIRST.length(), sentences.get(1).getBegin());
+
+        assertEquals(2.0, meterRegistry.get("keywords.corenlp.split.parts").summary().max());
+    }
+
+    @Test
+    void testShouldSendSingleLongSentenceAsIs() {
+        String text = "Une phrase beaucoup plus longue que la limite.";
+
+        CoreNLPAnnotation annotation = sentence("Une", 0, text.length());
+
+        when(coreNLPClient.annotateAsync(text, "fr")).thenReturn(CompletableFuture.completedFuture(annotation));
+
+        assertSame(annotation, splitter.annotate(text, "fr").join());
+
+        verify(coreNLPClient).annotateAsync(text, "fr");
+    }
+
+    @Test
+    void testShouldFailWhenOneBlockFails() {
+        CoreNLPServerException failure = new CoreNLPServerException("NLP down");
+
+        when(coreNLPClient.annotateAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(sentence("Paris", 0, 5)));
+        when(coreNLPClient.annotateAsync(SECOND, "fr")).thenReturn(CompletableFuture.failedFuture(failure));
+
+        CompletableFuture<CoreNLPAnnotation> response = splitter.annotate(FIRST + SECOND, "fr");
+
+        assertSame(failure,
+                assertThrows(ExecutionException.class, () -> response.get(1, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void testShouldGroupPassagesUpToMaxChars() throws Exception {
+        CoreNLPSentence paris = sentence("Paris", 0, 6).getSentences().get(0);
+        CoreNLPSentence rome = sentence("Rome", 8, 13).getSentences().get(0);
+
+        when(coreNLPClient.annotateAsync("Paris." + CoreNLPBatcher.CHUNK_SEPARATOR + "Rome.", "fr"))
+                .thenReturn(CompletableFuture.completedFuture(new CoreNLPAnnotation(null, List.of(paris, rome))));
+        when(coreNLPClient.annotateAsync(SECOND, "fr")).thenReturn(CompletableFuture.completedFuture(
+                sentence("Londres", 0, 14)));
+
+        List<CoreNLPAnnotation> annotations = splitter.annotatePassages(List.of("Paris.", "Rome.", SECOND), "fr")
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals(List.of("Paris", "Rome", "Londres"), annotations.stream()
+                .map(a -> a.getSentences().get(0).getTokens().get(0).getWord())
+                .toList());
+
+        // positions relatives à chaque passage
+        assertEquals(0, annotations.get(1).getSentences().get(0).getBegin());
+    }
+
+    @Test
+    void testShouldSendPassagesThroughBatcher() {
+        String request = "Paris." + CoreNLPBatcher.CHUNK_SEPARATOR + "Rome.";
+
+        when(coreNLPBatcher.isEnabled()).thenReturn(true);
+        when(coreNLPBatcher.submit(request, "fr")).thenReturn(CompletableFuture.completedFuture(
+                new CoreNLPAnnotation(null, List.of(sentence("Paris", 0, 6).getSentences().get(0),
+                        sentence("Rome", 8, 13).getSentences().get(0)))));
+
+        assertEquals(2, splitter.annotatePassages(List.of("Paris.", "Rome."), "fr").join().size());
+
+        verify(coreNLPClient, never()).annotateAsync(anyString(), anyString());
+    }
+
+    private static CoreNLPAnnotation sentence(String word, int begin, int end) {
+        return new CoreNLPAnnotation(null,
+                List.of(new CoreNLPSentence(List.of(new CoreNLPToken(word, "NPP", "O")), begin, end)));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.service.logic.EntityCandidateFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * EntityCandidateFilterTest
+ *
+ * Tests pour service EntityCandidateFilter.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class EntityCandidateFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EntityCandidateFilter candidateFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        candidateFilter = new EntityCandidateFilter(meterRegistry);
+
+        ReflectionTestUtils.setField(candidateFilter, "enabled", true);
+        ReflectionTestUtils.setField(candidateFilter, "minScore", 2);
+        ReflectionTestUtils.setField(candidateFilter, "sampleRate", 0d);
+
+        candidateFilter.init();
+    }
+
+    @Test
+    void testShouldFilterChunksBelowMinScore() {
+        assertTrue(candidateFilter.isWithoutCandidate("Le chiffre d'affaires augmente de 12 %.", "fr"));
+        assertTrue(candidateFilter.isWithoutCandidate("Le siège est à Marignane.", "fr"));
+        assertFalse(candidateFilter.isWithoutCandidate("Airbus Helicopters recrute à Marignane.", "fr"));
+
+        assertEquals(2.0 / 3, meterRegistry.get("keywords.candidate.filter.skip.ratio").gauge().value(), 1e-9);
+        assertFalse(candidateFilter.sample());
+    }
+
+    @Test
+    void testShouldMeasurePrecisionOnSampledChunks() {
+        candidateFilter.recordSample(Map.of());
+        candidateFilter.recordSample(Map.of("LOCATION", List.of()));
+        candidateFilter.recordSample(Map.of("CITY", List.of("marignane")));
+
+        assertEquals(2.0 / 3, meterRegistry.get("keywords.candidate.filter.precision").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void testShouldNotFilterWhenDisabled() {
+        ReflectionTestUtils.setField(candidateFilter, "enabled", false);
+
+        assertFalse(candidateFilter.isWithoutCandidate("12 345 678", "fr"));
+    }
+}
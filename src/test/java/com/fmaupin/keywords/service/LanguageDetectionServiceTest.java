@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.helper.LogCaptor;
+import com.fmaupin.keywords.service.logic.LanguageDetectionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LanguageDetectionServiceTest
+ *
+ * Tests pour service LanguageDetectionService.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class LanguageDetectionServiceTest {
+
+    private static final String TEXT_EN = "This is a sufficiently long English text to detect language properly.";
+
+    private static final String TEXT_FR = "Le président de la République a annoncé hier à Paris une nouvelle réforme.";
+
+    private static final String CACHE_METRIC = "keywords.language.document.cache";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LanguageDetectionService languageDetectionService;
+
+    @RegisterExtension
+    LogCaptor logCaptor = new LogCaptor(LanguageDetectionService.class);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        languageDetectionService = new LanguageDetectionService(meterRegistry);
+
+        ReflectionTestUtils.setField(languageDetectionService, "languageDefault", "fr");
+        ReflectionTestUtils.setField(languageDetectionService, "languages", List.of("fr", "en"));
+        ReflectionTestUtils.setField(languageDetectionService, "poolSize", 2);
+        ReflectionTestUtils.setField(languageDetectionService, "documentCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(languageDetectionService, "documentCacheTtl", Duration.ofMinutes(5));
+
+        languageDetectionService.init();
+    }
+
+    @Test
+    void testShouldDetectEnglishAndFrench() {
+        assertEquals("en", languageDetectionService.detect(TEXT_EN));
+        assertEquals("fr", languageDetectionService.detect(TEXT_FR));
+    }
+
+    @Test
+    void testShouldDefaultLanguageWhenTextIsEmpty() {
+        assertEquals("fr", languageDetectionService.detect("   "));
+
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("Text is empty or null"));
+    }
+
+    @Test
+    void testShouldDefaultLanguageWhenTextIsTooShort() {
+        assertEquals("fr", languageDetectionService.detect("Too short text"));
+
+        assertThat(logCaptor.getLogs())
+                .anyMatch(log -> log.contains("Text is too short"));
+    }
+
+    @Test
+    void testShouldBeSafeForConcurrentUse() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+
+            for (int i = 0; i < 40; i++) {
+                String text = (i % 2 == 0) ? TEXT_EN : TEXT_FR;
+                results.add(executor.submit(() -> languageDetectionService.detect(text)));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals((i % 2 == 0) ? "en" : "fr", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShouldReuseDocumentLanguageForFollowingChunks() {
+        UUID documentId = UUID.randomUUID();
+
+        assertEquals("fr", languageDetectionService.detect(documentId, TEXT_FR));
+        assertEquals("fr", languageDetectionService.detect(documentId, "Il est venu avec les autres."));
+        assertEquals("fr", languageDetectionService.detect(documentId, "12 345 678"));
+
+        assertEquals(1.0, counter("miss"));
+        assertEquals(2.0, counter("hit"));
+        assertEquals(0.0, counter("redetect"));
+    }
+
+    @Test
+    void testShouldDetectAgainWhenQuickCheckDisagrees() {
+        UUID documentId = UUID.randomUUID();
+
+        assertEquals("fr", languageDetectionService.detect(documentId, TEXT_FR));
+        assertEquals("en", languageDetectionService.detect(documentId, TEXT_EN));
+
+        assertEquals(1.0, counter("redetect"));
+
+        // la langue du document reste celle du premier chunk
+        assertEquals("fr", languageDetectionService.detect(documentId, TEXT_FR));
+    }
+
+    @Test
+    void testShouldNotMemoizeUncertainLanguage() {
+        UUID documentId = UUID.randomUUID();
+
+        assertEquals("fr", languageDetectionService.detect(documentId, "Too short text"));
+        assertEquals("en", languageDetectionService.detect(documentId, TEXT_EN));
+
+        assertEquals(2.0, counter("miss"));
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get(CACHE_METRIC).tag("result", result).counter().count();
+    }
+}
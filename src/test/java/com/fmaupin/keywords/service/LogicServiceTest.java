@@ -19,34 +19,55 @@
 package com.fmaupin.keywords.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.client.RestTemplate;
 
+import com.fmaupin.keywords.enumeration.AnnotationModeEnum;
 import com.fmaupin.keywords.exception.CoreNLPServerException;
 import com.fmaupin.keywords.helper.LogCaptor;
+import com.fmaupin.keywords.model.corenlp.ChunkFingerprint;
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
 import com.fmaupin.keywords.model.message.Chunk;
 import com.fmaupin.keywords.model.message.InputMessage;
+import com.fmaupin.keywords.model.message.ProcessingContext;
+import com.fmaupin.keywords.service.corenlp.CoreNLPAnnotationStore;
+import com.fmaupin.keywords.service.corenlp.CoreNLPBatcher;
+import com.fmaupin.keywords.service.corenlp.CoreNLPClient;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceCache;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSentenceSelector;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
 import com.fmaupin.keywords.service.db.KeywordsService;
+import com.fmaupin.keywords.service.logic.AnnotationCacheService;
+import com.fmaupin.keywords.service.logic.AnnotationCoalescingService;
+import com.fmaupin.keywords.service.logic.EntityCandidateFilter;
+import com.fmaupin.keywords.service.logic.LanguageDetectionService;
 import com.fmaupin.keywords.service.logic.LogicDisplayResultService;
 import com.fmaupin.keywords.service.logic.LogicService;
+import com.fmaupin.keywords.service.logic.NearDuplicateService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * LogicServiceTest
@@ -60,8 +81,24 @@ import com.fmaupin.keywords.service.logic.LogicService;
 @ExtendWith(MockitoExtension.class)
 class LogicServiceTest {
 
+        private static final CoreNLPAnnotation ANNOTATION = new CoreNLPAnnotation(null, List.of());
+
+        private static final ContentKey KEY = new ContentKey(new byte[32]);
+
+        @Mock
+        private CoreNLPClient coreNLPClient;
+
+        @Mock
+        private CoreNLPBatcher coreNLPBatcher;
+
+        @Mock
+        private CoreNLPSplitter coreNLPSplitter;
+
         @Mock
-        private RestTemplate restTemplate;
+        private CoreNLPSentenceCache coreNLPSentenceCache;
+
+        @Mock
+        private CoreNLPSentenceSelector coreNLPSentenceSelector;
 
         @Mock
         private KeywordsService keywordsService;
@@ -69,18 +106,32 @@ class LogicServiceTest {
         @Mock
         private LogicDisplayResultService displayResultService;
 
+        @Mock
+        private LanguageDetectionService languageDetectionService;
+
+        @Mock
+        private AnnotationCacheService annotationCache;
+
+        @Mock
+        private CoreNLPAnnotationStore annotationStore;
+
+        // regroupement désactivé (appel direct)
+        @Spy
+        private AnnotationCoalescingService annotationCoalescing = new AnnotationCoalescingService(
+                        new SimpleMeterRegistry());
+
+        @Mock
+        private NearDuplicateService nearDuplicates;
+
+        @Mock
+        private EntityCandidateFilter candidateFilter;
+
         @InjectMocks
         private LogicService logicService;
 
         @RegisterExtension
         LogCaptor logCaptor = new LogCaptor(LogicService.class);
 
-        @BeforeEach
-        void setUp() {
-                ReflectionTestUtils.setField(logicService, "coreNLPUrlBase", "http://fake-nlp");
-                ReflectionTestUtils.setField(logicService, "languageDefault", "fr");
-        }
-
         @Test
         void testShoulProcessMessageSuccessfully() {
                 Chunk chunk = Chunk.builder()
@@ -91,16 +142,14 @@ class LogicServiceTest {
 
                 InputMessage input = InputMessage.of(chunk);
 
-                String fakeJson = "{ \"sentences\": [] }";
-
-                when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
-                                .thenReturn(fakeJson);
+                when(coreNLPClient.annotate(any(), any()))
+                                .thenReturn(ANNOTATION);
 
                 InputMessage result = logicService.run(input);
 
                 assertSame(input, result);
 
-                verify(restTemplate).postForObject(anyString(), any(), eq(String.class));
+                verify(coreNLPClient).annotate(eq(chunk.getBlock()), any());
                 verify(keywordsService).saveChunkKeywords(eq(chunk), anyList());
                 verify(displayResultService).displayResult(any(), any(), any());
 
@@ -109,66 +158,345 @@ class LogicServiceTest {
         }
 
         @Test
-        void testShouldDefaultLanguageWhenTextIsEmpty() {
+        void testShouldUseDetectedLanguage() {
                 Chunk chunk = Chunk.builder()
                                 .documentId(UUID.randomUUID())
                                 .blockNumber(2)
-                                .block("   ")
+                                .block("Le président de la République a annoncé hier une nouvelle réforme.")
                                 .build();
 
                 InputMessage input = InputMessage.of(chunk);
 
-                when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
-                                .thenReturn("{ }");
+                when(languageDetectionService.detect(chunk.getDocumentId(), chunk.getBlock())).thenReturn("fr");
+                when(coreNLPClient.annotate(any(), any()))
+                                .thenReturn(ANNOTATION);
 
                 logicService.run(input);
 
+                verify(coreNLPClient).annotate(chunk.getBlock(), "fr");
+                verify(displayResultService).displayResult(eq(input), eq("fr"), any());
+        }
+
+        @Test
+        void testShouldReturnMessageWhenCorenlpExceptionOccurs() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(4)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                InputMessage input = InputMessage.of(chunk);
+
+                when(coreNLPClient.annotate(any(), any()))
+                                .thenThrow(new CoreNLPServerException("NLP down"));
+
+                InputMessage result = logicService.run(input);
+
+                assertSame(input, result);
+
+                verify(keywordsService, never()).saveChunkKeywords(any(), any());
+
+                assertThat(logCaptor.getLogs())
+                                .anyMatch(log -> log.contains("Error during keywords extraction or saving"));
+        }
+
+        @Test
+        void testShouldAnnotateAsynchronously() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(5)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("en");
+
+                when(coreNLPClient.annotateAsync(chunk.getBlock(), "en"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                assertSame(ANNOTATION, logicService.annotateAsync(context).join().getAnnotation());
+        }
+
+        @Test
+        void testShouldSkipChunkWhenAsynchronousAnnotationFailsOnCoreNLP() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(6)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+
+                when(coreNLPClient.annotateAsync(any(), any()))
+                                .thenReturn(CompletableFuture.failedFuture(new CoreNLPServerException("NLP down")));
+
+                assertNull(logicService.annotateAsync(context).join().getAnnotation());
+
                 assertThat(logCaptor.getLogs())
-                                .anyMatch(log -> log.contains("Text is empty or null"));
+                                .anyMatch(log -> log.contains("Error during keywords extraction or saving"));
+        }
+
+        @Test
+        void testShouldPropagateOtherAsynchronousAnnotationFailures() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(7)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+
+                RuntimeException failure = new IllegalStateException("connection reset");
 
-                verify(keywordsService).saveChunkKeywords(any(), any());
+                when(coreNLPClient.annotateAsync(any(), any()))
+                                .thenReturn(CompletableFuture.failedFuture(failure));
+
+                CompletionException ex = assertThrows(CompletionException.class,
+                                () -> logicService.annotateAsync(context).join());
+
+                assertSame(failure, ex.getCause());
         }
 
         @Test
-        void testShouldDefaultLanguageWhenTextIsTooShort() {
+        void testShouldAnnotateThroughBatcherWhenEnabled() {
                 Chunk chunk = Chunk.builder()
                                 .documentId(UUID.randomUUID())
-                                .blockNumber(3)
-                                .block("Too short text")
+                                .blockNumber(8)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("en");
+
+                when(coreNLPBatcher.isEnabled()).thenReturn(true);
+                when(coreNLPBatcher.submit(chunk.getBlock(), "en"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                assertSame(ANNOTATION, logicService.annotate(context).getAnnotation());
+
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(coreNLPClient, never()).annotateAsync(any(), any());
+        }
+
+        @Test
+        void testShouldSplitOversizedChunk() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(9)
+                                .block("This text is long enough to trigger processing.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("en");
+
+                when(coreNLPSplitter.isOversized(chunk.getBlock())).thenReturn(true);
+                when(coreNLPSplitter.annotate(chunk.getBlock(), "en"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                assertSame(ANNOTATION, logicService.annotate(context).getAnnotation());
+
+                verify(coreNLPBatcher, never()).submit(any(), any());
+                verify(coreNLPClient, never()).annotateAsync(any(), any());
+        }
+
+        @Test
+        void testShouldTakeEntitiesOfAlreadyAnnotatedTextFromCache() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(10)
+                                .block("Mentions légales : Airbus Helicopters, Marignane.")
                                 .build();
 
                 InputMessage input = InputMessage.of(chunk);
+                Map<String, List<String>> entities = Map.of("ORGANIZATION", List.of("Airbus Helicopters"));
 
-                when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
-                                .thenReturn("{ }");
+                when(languageDetectionService.detect(chunk.getDocumentId(), chunk.getBlock())).thenReturn("fr");
+                when(annotationCache.isEnabled()).thenReturn(true);
+                when(annotationCache.key(chunk.getBlock(), "fr", AnnotationModeEnum.FULL)).thenReturn(KEY);
+                when(annotationCache.get(KEY)).thenReturn(entities);
 
                 logicService.run(input);
 
-                assertThat(logCaptor.getLogs())
-                                .anyMatch(log -> log.contains("Text is too short"));
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(annotationCache, never()).put(any(), any());
+                verify(annotationStore, never()).get(any());
+                verify(displayResultService).displayResult(input, "fr", entities);
+                verify(keywordsService).saveChunkKeywords(eq(chunk), anyList());
         }
 
         @Test
-        void testShouldReturnMessageWhenCorenlpExceptionOccurs() {
+        void testShouldCacheEntitiesExtractedFromCoreNLP() {
                 Chunk chunk = Chunk.builder()
                                 .documentId(UUID.randomUUID())
-                                .blockNumber(4)
+                                .blockNumber(11)
                                 .block("This text is long enough to trigger processing.")
                                 .build();
 
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("en");
+
+                when(annotationCache.isEnabled()).thenReturn(true);
+                when(annotationCache.key(chunk.getBlock(), "en", AnnotationModeEnum.FULL)).thenReturn(KEY);
+                when(coreNLPClient.annotateAsync(chunk.getBlock(), "en"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                ProcessingContext result = logicService.annotateAsync(context).join();
+
+                // écriture sur disque à l'étape POST_PROCESS
+                verify(annotationStore, never()).put(any(), any());
+
+                logicService.postProcess(result);
+
+                verify(annotationCache).get(KEY);
+                verify(annotationCache).put(eq(KEY), any());
+                verify(annotationStore).get(KEY);
+                verify(annotationStore).put(KEY, ANNOTATION);
+        }
+
+        @Test
+        void testShouldTakeAnnotationFromStoreWithoutCallingCoreNLP() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(12)
+                                .block("Mentions légales : Airbus Helicopters, Marignane.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("fr");
+
+                when(annotationStore.isEnabled()).thenReturn(true);
+                when(annotationCache.key(chunk.getBlock(), "fr", AnnotationModeEnum.FULL)).thenReturn(KEY);
+                when(annotationStore.get(KEY)).thenReturn(ANNOTATION);
+
+                ProcessingContext result = logicService.annotate(context);
+
+                assertSame(ANNOTATION, result.getAnnotation());
+                verify(coreNLPClient, never()).annotate(any(), any());
+
+                logicService.postProcess(result);
+
+                verify(annotationCache).put(eq(KEY), any());
+                verify(annotationStore, never()).put(any(), any());
+        }
+
+        @Test
+        void testShouldAnnotateNearDuplicateChunkWithoutAnnotationCache() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(13)
+                                .block("Mentions légales : Airbus Helicopters, Marignane, page 4.")
+                                .build();
+
                 InputMessage input = InputMessage.of(chunk);
+                ChunkFingerprint fingerprint = new ChunkFingerprint(new int[64]);
+                ContentKey nearDuplicate = new ContentKey(new byte[] { 7 });
 
-                when(restTemplate.postForObject(anyString(), any(), eq(String.class)))
-                                .thenThrow(new CoreNLPServerException("NLP down"));
+                when(languageDetectionService.detect(chunk.getDocumentId(), chunk.getBlock())).thenReturn("fr");
+                when(annotationCache.key(chunk.getBlock(), "fr", AnnotationModeEnum.FULL)).thenReturn(KEY);
+                when(nearDuplicates.isEnabled()).thenReturn(true);
+                when(nearDuplicates.fingerprint(chunk.getBlock())).thenReturn(fingerprint);
+                when(nearDuplicates.find(fingerprint, "fr")).thenReturn(nearDuplicate);
+                when(nearDuplicates.annotate(nearDuplicate, chunk.getBlock(), "fr"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
 
-                InputMessage result = logicService.run(input);
+                logicService.run(input);
 
-                assertSame(input, result);
+                // seules les phrases qui diffèrent sont annotées (cf. NearDuplicateService)
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(coreNLPClient, never()).annotateAsync(any(), any());
+                verify(nearDuplicates).add(KEY, fingerprint, "fr", chunk.getBlock(), ANNOTATION);
+                verify(keywordsService).saveChunkKeywords(eq(chunk), anyList());
+        }
 
-                verify(keywordsService, never()).saveChunkKeywords(any(), any());
+        @Test
+        void testShouldAnnotateBySentenceWhenSentenceCacheIsEnabled() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(14)
+                                .block("Ce message est confidentiel. Airbus Helicopters recrute à Marignane.")
+                                .build();
 
-                assertThat(logCaptor.getLogs())
-                                .anyMatch(log -> log.contains("Error during keywords extraction or saving"));
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("fr");
+
+                when(coreNLPSentenceCache.isEnabled()).thenReturn(true);
+                when(coreNLPSentenceCache.annotate(chunk.getBlock(), "fr"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                assertSame(ANNOTATION, logicService.annotate(context).getAnnotation());
+
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(coreNLPClient, never()).annotateAsync(any(), any());
         }
 
+        @Test
+        void testShouldAnnotateCandidateSentencesWhenSentenceSelectorIsEnabled() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(17)
+                                .block("Ce message est confidentiel. Airbus Helicopters recrute à Marignane.")
+                                .build();
+
+                ProcessingContext context = new ProcessingContext(InputMessage.of(chunk));
+                context.setLang("fr");
+
+                when(annotationCache.isEnabled()).thenReturn(true);
+                when(annotationCache.key(chunk.getBlock(), "fr", AnnotationModeEnum.SENTENCE_SELECTOR)).thenReturn(KEY);
+                when(coreNLPSentenceSelector.isEnabled()).thenReturn(true);
+                when(coreNLPSentenceSelector.annotate(chunk.getBlock(), "fr"))
+                                .thenReturn(CompletableFuture.completedFuture(ANNOTATION));
+
+                ProcessingContext result = logicService.annotate(context);
+
+                assertSame(ANNOTATION, result.getAnnotation());
+
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(coreNLPClient, never()).annotateAsync(any(), any());
+
+                // annotation partielle : clé propre au mode, pas conservée sur disque
+                logicService.postProcess(result);
+
+                verify(annotationCache).put(eq(KEY), any());
+                verify(annotationStore, never()).put(any(), any());
+        }
+
+        @Test
+        void testShouldSaveChunkWithoutCandidateWithoutCallingCoreNLP() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(15)
+                                .block("12 345 678 | 3,14 | 2,71")
+                                .build();
+
+                InputMessage input = InputMessage.of(chunk);
+
+                when(languageDetectionService.detect(chunk.getDocumentId(), chunk.getBlock())).thenReturn("fr");
+                when(candidateFilter.isWithoutCandidate(chunk.getBlock(), "fr")).thenReturn(true);
+
+                logicService.run(input);
+
+                verify(coreNLPClient, never()).annotate(any(), any());
+                verify(keywordsService).saveChunkKeywords(chunk, List.of());
+        }
+
+        @Test
+        void testShouldAnnotateSampledChunkWithoutCandidate() {
+                Chunk chunk = Chunk.builder()
+                                .documentId(UUID.randomUUID())
+                                .blockNumber(16)
+                                .block("12 345 678 | 3,14 | 2,71")
+                                .build();
+
+                InputMessage input = InputMessage.of(chunk);
+
+                when(languageDetectionService.detect(chunk.getDocumentId(), chunk.getBlock())).thenReturn("fr");
+                when(candidateFilter.isWithoutCandidate(chunk.getBlock(), "fr")).thenReturn(true);
+                when(candidateFilter.sample()).thenReturn(true);
+                when(coreNLPClient.annotate(chunk.getBlock(), "fr")).thenReturn(ANNOTATION);
+
+                logicService.run(input);
+
+                verify(candidateFilter).recordSample(any());
+                verify(keywordsService).saveChunkKeywords(eq(chunk), anyList());
+        }
 }
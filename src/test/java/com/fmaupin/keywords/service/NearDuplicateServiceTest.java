@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2025 Fabrice MAUPIN
+ *
+ * This file is part of Extract Micro Service.
+ *
+ * Extract Micro Service is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 3,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.fmaupin.keywords.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fmaupin.keywords.model.corenlp.ContentKey;
+import com.fmaupin.keywords.model.corenlp.CoreNLPAnnotation;
+import com.fmaupin.keywords.model.corenlp.CoreNLPSentence;
+import com.fmaupin.keywords.model.corenlp.CoreNLPToken;
+import com.fmaupin.keywords.service.corenlp.CoreNLPSplitter;
+import com.fmaupin.keywords.service.logic.NearDuplicateService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * NearDuplicateServiceTest
+ *
+ * Tests pour service NearDuplicateService.
+ *
+ * @author Fabrice MAUPIN
+ * @version 0.0.1-SNAPSHOT
+ * @since 17/10/26
+ */
+class NearDuplicateServiceTest {
+
+    private static final String FIRST = "Conformément à la loi du 6 janvier 1978, la société Airbus Helicopters, "
+            + "dont le siège est à Marignane, traite vos données personnelles.";
+
+    private static final String DATED = "Document mis à jour le %s, page %d sur 40.";
+
+    private static final String LAST = "Pour toute question, contactez le service juridique.";
+
+    private static final ContentKey KEY = new ContentKey(new byte[32]);
+
+    private CoreNLPSplitter coreNLPSplitter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NearDuplicateService nearDuplicates;
+
+    @BeforeEach
+    void setUp() {
+        coreNLPSplitter = mock(CoreNLPSplitter.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        nearDuplicates = new NearDuplicateService(coreNLPSplitter, meterRegistry);
+
+        ReflectionTestUtils.setField(nearDuplicates, "enabled", true);
+        ReflectionTestUtils.setField(nearDuplicates, "similarityThreshold", 0.8);
+        ReflectionTestUtils.setField(nearDuplicates, "maxEntries", 2);
+
+        nearDuplicates.init();
+
+        String text = notice("12 mars 2024", 3);
+
+        nearDuplicates.add(KEY, nearDuplicates.fingerprint(text), "fr", text,
+                annotation(text, FIRST, String.format(DATED, "12 mars 2024", 3), LAST));
+    }
+
+    @Test
+    void testShouldAnnotateOnlySentenceDifferingByDateAndPage() {
+        String dated = String.format(DATED, "14 mars 2024", 4);
+        String text = notice("14 mars 2024", 4);
+        CoreNLPAnnotation response = annotation(dated, dated);
+
+        when(coreNLPSplitter.annotatePassages(List.of(dated), "fr"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(response)));
+
+        assertSame(KEY, nearDuplicates.find(nearDuplicates.fingerprint(text), "fr"));
+
+        CoreNLPAnnotation annotation = nearDuplicates.annotate(KEY, text, "fr").join();
+
+        assertEquals(text, annotation.getText());
+        assertEquals(3, annotation.getSentences().size());
+        assertEquals("Conformément", annotation.getSentences().get(0).getTokens().get(0).getWord());
+        assertEquals(response.getSentences().get(0).getTokens(), annotation.getSentences().get(1).getTokens());
+        assertEquals(text.indexOf(dated), annotation.getSentences().get(1).getBegin());
+        assertEquals(text.indexOf(LAST), annotation.getSentences().get(2).getBegin());
+
+        assertEquals(2.0, meterRegistry.get("keywords.annotation.near.duplicate.sentences").tag("result", "reused")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.near.duplicate.sentences")
+                .tag("result", "annotated").counter().count());
+        assertEquals(0.8, meterRegistry.get("keywords.annotation.near.duplicate.similarity.threshold").gauge()
+                .value());
+    }
+
+    @Test
+    void testShouldReuseWholeAnnotationOfIdenticalChunk() {
+        String text = notice("12 mars 2024", 3);
+
+        CoreNLPAnnotation annotation = nearDuplicates.annotate(KEY, text, "fr").join();
+
+        assertEquals(3, annotation.getSentences().size());
+        assertEquals(1.0, meterRegistry.get("keywords.annotation.near.duplicate.skip.ratio").gauge().value());
+
+        verify(coreNLPSplitter, never()).annotatePassages(any(), anyString());
+    }
+
+    @Test
+    void testShouldAnnotateAgainSentencesSplitDifferentlyByCoreNLP() {
+        String text = "Airbus recrute. À Marignane. Contactez le service juridique.";
+        ContentKey key = new ContentKey(new byte[] { 1 });
+
+        // une seule phrase CoreNLP pour les deux premières phrases locales
+        nearDuplicates.add(key, nearDuplicates.fingerprint(text), "fr", text,
+                annotation(text, "Airbus recrute. À Marignane.", "Contactez le service juridique."));
+
+        when(coreNLPSplitter.annotatePassages(List.of("Airbus recrute. À Marignane."), "fr"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(annotation("Airbus recrute. À Marignane.",
+                        "Airbus recrute. À Marignane."))));
+
+        assertEquals(2, nearDuplicates.annotate(key, text, "fr").join().getSentences().size());
+    }
+
+    @Test
+    void testShouldIgnoreUnrelatedChunkOrOtherLanguage() {
+        assertNull(nearDuplicates.find(nearDuplicates.fingerprint(
+                "Le chat dort sur le canapé pendant que la pluie tombe."), "fr"));
+        assertNull(nearDuplicates.find(nearDuplicates.fingerprint(notice("12 mars 2024", 3)), "en"));
+
+        assertEquals(2.0, meterRegistry.get("keywords.annotation.near.duplicate").tag("result", "miss")
+                .counter().count());
+    }
+
+    @Test
+    void testShouldForgetLeastRecentlyUsedChunksBeyondMaxEntries() {
+        for (int i = 1; i <= 2; i++) {
+            byte[] digest = new byte[32];
+            digest[0] = (byte) i;
+
+            String text = "Chunk numéro " + i;
+
+            nearDuplicates.add(new ContentKey(digest), nearDuplicates.fingerprint(text), "fr", text,
+                    annotation(text, text));
+        }
+
+        assertEquals(2, nearDuplicates.size());
+        assertNull(nearDuplicates.find(nearDuplicates.fingerprint(notice("12 mars 2024", 3)), "fr"));
+    }
+
+    private static String notice(String date, int page) {
+        return FIRST + " " + String.format(DATED, date, page) + " " + LAST;
+    }
+
+    /**
+     * @return réponse CoreNLP : une phrase par texte donné (mots séparés par
+     *         des espaces)
+     */
+    private static CoreNLPAnnotation annotation(String text, String... sentences) {
+        return new CoreNLPAnnotation(text, Arrays.stream(sentences)
+                .map(sentence -> new CoreNLPSentence(Arrays.stream(sentence.split(" "))
+                        .map(word -> new CoreNLPToken(word, "X", "O"))
+                        .toList(), text.indexOf(sentence), text.indexOf(sentence) + sentence.length()))
+                .toList());
+    }
+}
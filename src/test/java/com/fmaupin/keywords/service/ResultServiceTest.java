@@ -22,15 +22,24 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -56,19 +65,31 @@ class ResultServiceTest {
     @Mock
     private LogicService logicService;
 
-    @InjectMocks
     private ResultService resultService;
 
     @RegisterExtension
     LogCaptor logCaptor = new LogCaptor(ResultService.class);
 
+    @BeforeEach
+    void setUp() {
+        resultService = new ResultService(logicService,
+                stageExecutor("detect"),
+                stageExecutor("annotate"),
+                stageExecutor("post-process"),
+                stageExecutor("persist"));
+    }
+
     @Test
     void testShouldCompleteSuccessfullyWhenLogicServiceSucceeds() {
         Chunk chunk = buildChunk();
 
         InputMessage input = buildInputMessage(chunk);
 
-        when(logicService.run(input)).thenReturn(input);
+        when(logicService.detectLanguage(any())).then(returnsFirstArg());
+        when(logicService.annotateAsync(any()))
+                .then(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        when(logicService.postProcess(any())).then(returnsFirstArg());
+        when(logicService.persist(any())).thenReturn(input);
 
         ResultProcessMessage result = resultService.process(input).join();
 
@@ -76,7 +97,7 @@ class ResultServiceTest {
         assertEquals(chunk, result.getResult());
         assertNotNull(result.getProcessDate());
 
-        verify(logicService).run(input);
+        verify(logicService).persist(any());
 
         assertThat(logCaptor.getLogs())
                 .anyMatch(log -> log.contains("Message processed successfully"));
@@ -90,7 +111,7 @@ class ResultServiceTest {
 
         RuntimeException failure = new RuntimeException("failure");
 
-        when(logicService.run(input)).thenThrow(failure);
+        when(logicService.detectLanguage(any())).thenThrow(failure);
 
         CompletionException ex = assertThrows(
                 CompletionException.class,
@@ -103,11 +124,63 @@ class ResultServiceTest {
     }
 
     @Test
-    void testShouldShutdownExecutorService() {
-        resultService.shutdown();
+    void testShouldRunEachStageOnItsOwnExecutor() {
+        InputMessage input = buildInputMessage(buildChunk());
+
+        Map<String, String> threads = new ConcurrentHashMap<>();
+
+        when(logicService.detectLanguage(any())).then(invocation -> {
+            threads.put("detect", Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        when(logicService.annotateAsync(any())).then(invocation -> {
+            threads.put("annotate", Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(invocation.getArgument(0));
+        });
+        when(logicService.postProcess(any())).then(invocation -> {
+            threads.put("post-process", Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        when(logicService.persist(any())).then(invocation -> {
+            threads.put("persist", Thread.currentThread().getName());
+            return input;
+        });
+
+        resultService.process(input).join();
+
+        threads.forEach((stage, thread) -> assertEquals(stage + "-test", thread));
+        assertEquals(4, threads.size());
+    }
+
+    @Test
+    void testShouldFailWhenStageExecutorRejectsTask() {
+        InputMessage input = buildInputMessage(buildChunk());
+
+        ExecutorService postProcessExecutor = stageExecutor("post-process");
+        postProcessExecutor.shutdown();
+
+        resultService = new ResultService(logicService,
+                stageExecutor("detect"),
+                stageExecutor("annotate"),
+                postProcessExecutor,
+                stageExecutor("persist"));
+
+        when(logicService.detectLanguage(any())).then(returnsFirstArg());
+        when(logicService.annotateAsync(any()))
+                .then(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        CompletionException ex = assertThrows(
+                CompletionException.class,
+                () -> this.processInputMessage(input));
+
+        assertThat(ex).hasRootCauseInstanceOf(RejectedExecutionException.class);
 
         assertThat(logCaptor.getLogs())
-                .anyMatch(log -> log.contains("ExecutorService shutdown"));
+                .anyMatch(log -> log.contains("Error processing message"));
+    }
+
+    private ExecutorService stageExecutor(String name) {
+        return Executors.newSingleThreadExecutor(r -> new Thread(r, name + "-test"));
     }
 
     private Chunk buildChunk() {